@@ -1,5 +1,8 @@
 package com.fluckyeli.ddlparser;
 
+import lombok.Getter;
+
+@Getter
 public class ColumnMeta {
     final private String name;
     final private String type;
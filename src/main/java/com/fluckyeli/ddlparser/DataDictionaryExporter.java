@@ -0,0 +1,278 @@
+package com.fluckyeli.ddlparser;
+
+import com.alibaba.druid.DbType;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 数据字典导出器：将解析得到的 TableMeta / ColumnMeta 直接流式写入 Excel
+ * <p>
+ * 基于 SXSSFWorkbook，内存中每个 Sheet 只保留最近 rowAccessWindowSize 行，其余行刷到临时文件，
+ * 因此导出 5 万张表也不会 OOM。生成的工作簿包含：
+ * <ul>
+ *     <li>一个「目录」汇总 Sheet：每张表一行，表名可超链接跳转到明细</li>
+ *     <li>按 Schema 划分的明细 Sheet：列名、类型、主键、分区列、注释，并可跳回目录</li>
+ * </ul>
+ * 本类实现了 {@link Consumer}，可直接作为 {@link GenericDdlParserUtils#parseMultiCreateTable(String, DbType, Consumer)}
+ * 的回调，做到边解析边写入，中间不产生任何 List。
+ * <p>
+ * 注意：超链接使用 HYPERLINK 公式而非 Hyperlink 对象，后者会常驻内存直到写出。
+ */
+public class DataDictionaryExporter implements Consumer<TableMeta>, Closeable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 200;
+
+    private static final String SUMMARY_SHEET_NAME = "目录";
+    private static final String DEFAULT_SCHEMA = "default";
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final String[] SUMMARY_HEADERS = {"序号", "Schema", "表名", "列数", "主键", "分区列", "数据库类型"};
+    private static final String[] DETAIL_HEADERS = {"序号", "列名", "类型", "主键", "分区列", "注释"};
+
+    private final SXSSFWorkbook workbook;
+    private final Sheet summarySheet;
+    private final CellStyle headerStyle;
+    private final CellStyle titleStyle;
+    private final CellStyle linkStyle;
+
+    // Schema -> 当前正在写入的明细 Sheet（超过 Excel 行数上限后会滚动到新 Sheet）
+    private final Map<String, DetailSheet> detailSheets = new HashMap<>();
+    private final Set<String> usedSheetNames = new HashSet<>();
+
+    private int summaryRowIndex = 1;
+
+    public DataDictionaryExporter() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param rowAccessWindowSize 每个 Sheet 在内存中保留的行数
+     */
+    public DataDictionaryExporter(int rowAccessWindowSize) {
+        this.workbook = new SXSSFWorkbook(rowAccessWindowSize);
+        this.workbook.setCompressTempFiles(true); // 临时文件压缩，数万张表时可显著减少磁盘占用
+        this.headerStyle = createHeaderStyle(workbook);
+        this.titleStyle = createTitleStyle(workbook);
+        this.linkStyle = createLinkStyle(workbook);
+
+        this.summarySheet = workbook.createSheet(uniqueSheetName(SUMMARY_SHEET_NAME));
+        writeHeader(summarySheet.createRow(0), SUMMARY_HEADERS);
+        summarySheet.createFreezePane(0, 1);
+        setColumnWidths(summarySheet, 8, 16, 40, 8, 24, 24, 12);
+    }
+
+    /**
+     * 一步到位：流式解析多段 DDL 并写出数据字典
+     *
+     * @param sql    包含多段 DDL 的字符串
+     * @param dbType 数据库类型
+     * @param out    输出流 (调用者负责关闭)
+     * @return 导出的表数量
+     */
+    public static int export(String sql, DbType dbType, OutputStream out) throws IOException {
+        try (DataDictionaryExporter exporter = new DataDictionaryExporter()) {
+            int count = GenericDdlParserUtils.parseMultiCreateTable(sql, dbType, exporter);
+            exporter.write(out);
+            return count;
+        }
+    }
+
+    /**
+     * 写入一张表：目录中追加一行，明细 Sheet 中追加一个表块
+     */
+    @Override
+    public void accept(TableMeta tableMeta) {
+        if (tableMeta == null) return;
+
+        String schema = tableMeta.getSchema() == null ? DEFAULT_SCHEMA : tableMeta.getSchema();
+        int columnCount = tableMeta.getColumns().size() + tableMeta.getPartitionColumns().size();
+
+        // 1. 明细 Sheet：标题行 + 表头行 + 列行 + 空行
+        DetailSheet detail = detailSheetFor(schema, columnCount + 3);
+        int titleRowIndex = detail.nextRow;
+        int summaryRowNum = summaryRowIndex;
+
+        Row titleRow = detail.sheet.createRow(detail.nextRow++);
+        Cell titleCell = titleRow.createCell(0);
+        titleCell.setCellValue(qualifiedName(tableMeta));
+        titleCell.setCellStyle(titleStyle);
+        Cell backCell = titleRow.createCell(DETAIL_HEADERS.length - 1);
+        backCell.setCellFormula(hyperlinkFormula(summarySheet.getSheetName(), summaryRowNum + 1, "返回目录"));
+        backCell.setCellStyle(linkStyle);
+
+        writeHeader(detail.sheet.createRow(detail.nextRow++), DETAIL_HEADERS);
+
+        int seq = 1;
+        StringBuilder pkNames = new StringBuilder();
+        for (ColumnMeta column : tableMeta.getColumns()) {
+            writeColumn(detail.sheet.createRow(detail.nextRow++), seq++, column, false);
+            if (column.isPrimaryKey()) appendName(pkNames, column.getName());
+        }
+        StringBuilder partitionNames = new StringBuilder();
+        for (ColumnMeta column : tableMeta.getPartitionColumns()) {
+            writeColumn(detail.sheet.createRow(detail.nextRow++), seq++, column, true);
+            appendName(partitionNames, column.getName());
+        }
+        detail.nextRow++; // 表块之间留一个空行
+
+        // 2. 目录 Sheet：一行汇总，表名超链接到明细表块的标题行
+        Row row = summarySheet.createRow(summaryRowIndex++);
+        row.createCell(0).setCellValue(summaryRowNum);
+        row.createCell(1).setCellValue(schema);
+        Cell nameCell = row.createCell(2);
+        nameCell.setCellFormula(hyperlinkFormula(detail.sheet.getSheetName(), titleRowIndex + 1, tableMeta.getTableName()));
+        nameCell.setCellStyle(linkStyle);
+        row.createCell(3).setCellValue(columnCount);
+        row.createCell(4).setCellValue(pkNames.toString());
+        row.createCell(5).setCellValue(partitionNames.toString());
+        row.createCell(6).setCellValue(tableMeta.getDbType());
+    }
+
+    /**
+     * 将工作簿写出到输出流 (调用者负责关闭流)
+     */
+    public void write(OutputStream out) throws IOException {
+        // HYPERLINK 公式没有缓存值，要求 Excel 打开时重新计算以显示链接文字
+        workbook.setForceFormulaRecalculation(true);
+        workbook.write(out);
+    }
+
+    /**
+     * 关闭工作簿 (同时删除 SXSSF 产生的临时文件)
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.close();
+    }
+
+    // --- 辅助方法 ---
+
+    /**
+     * 获取 Schema 对应的明细 Sheet，剩余行数不足时滚动创建新 Sheet (如 ods_2)
+     */
+    private DetailSheet detailSheetFor(String schema, int requiredRows) {
+        DetailSheet detail = detailSheets.get(schema);
+        if (detail == null || detail.nextRow + requiredRows > MAX_ROWS) {
+            int part = detail == null ? 1 : detail.part + 1;
+            String baseName = part == 1 ? schema : schema + "_" + part;
+            Sheet sheet = workbook.createSheet(uniqueSheetName(baseName));
+            setColumnWidths(sheet, 8, 32, 24, 8, 8, 48);
+            detail = new DetailSheet(sheet, part);
+            detailSheets.put(schema, detail);
+        }
+        return detail;
+    }
+
+    private void writeColumn(Row row, int seq, ColumnMeta column, boolean partition) {
+        row.createCell(0).setCellValue(seq);
+        row.createCell(1).setCellValue(column.getName());
+        row.createCell(2).setCellValue(column.getType());
+        row.createCell(3).setCellValue(column.isPrimaryKey() ? "Y" : "");
+        row.createCell(4).setCellValue(partition ? "Y" : "");
+        row.createCell(5).setCellValue(column.getComment() == null ? "" : column.getComment());
+    }
+
+    private void writeHeader(Row row, String[] headers) {
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    /**
+     * Sheet 名称需满足 Excel 规则 (最长 31 字符，不含 []:*?/\)，且不区分大小写唯一
+     */
+    private String uniqueSheetName(String baseName) {
+        String safeName = WorkbookUtil.createSafeSheetName(baseName);
+        String name = safeName;
+        int suffix = 2;
+        while (!usedSheetNames.add(name.toLowerCase())) {
+            String tail = "~" + suffix++;
+            name = safeName.substring(0, Math.min(safeName.length(), 31 - tail.length())) + tail;
+        }
+        return name;
+    }
+
+    /**
+     * 生成文档内跳转公式，如 HYPERLINK("#'ods'!A12","t_order")
+     *
+     * @param rowNum 1-based 行号
+     */
+    private static String hyperlinkFormula(String sheetName, int rowNum, String label) {
+        String address = "#'" + sheetName.replace("'", "''") + "'!A" + rowNum;
+        return "HYPERLINK(\"" + address.replace("\"", "\"\"") + "\",\"" + label.replace("\"", "\"\"") + "\")";
+    }
+
+    private static String qualifiedName(TableMeta tableMeta) {
+        return tableMeta.getSchema() == null ? tableMeta.getTableName() : tableMeta.getSchema() + "." + tableMeta.getTableName();
+    }
+
+    private static void appendName(StringBuilder sb, String name) {
+        if (sb.length() > 0) sb.append(", ");
+        sb.append(name);
+    }
+
+    /**
+     * SXSSF 下 autoSizeColumn 需要追踪全部行，这里直接使用固定列宽 (单位：字符)
+     */
+    private static void setColumnWidths(Sheet sheet, int... widths) {
+        for (int i = 0; i < widths.length; i++) {
+            sheet.setColumnWidth(i, widths[i] * 256);
+        }
+    }
+
+    private static CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        style.setFont(font);
+        style.setAlignment(HorizontalAlignment.CENTER);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        return style;
+    }
+
+    private static CellStyle createTitleStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 12);
+        style.setFont(font);
+        return style;
+    }
+
+    private static CellStyle createLinkStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setUnderline(Font.U_SINGLE);
+        font.setColor(IndexedColors.BLUE.getIndex());
+        style.setFont(font);
+        return style;
+    }
+
+    /**
+     * 明细 Sheet 及其写入游标
+     */
+    private static class DetailSheet {
+        final Sheet sheet;
+        final int part;
+        int nextRow = 0;
+
+        DetailSheet(Sheet sheet, int part) {
+            this.sheet = sheet;
+            this.part = part;
+        }
+    }
+}
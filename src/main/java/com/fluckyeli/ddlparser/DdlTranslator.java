@@ -0,0 +1,537 @@
+package com.fluckyeli.ddlparser;
+
+import com.alibaba.druid.DbType;
+import com.fluckyeli.ddlparser.SqlType.BaseType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 跨方言 DDL 翻译工具类：把 TableMeta (如从 Oracle 解析得到) 输出为目标方言 (如 Hive / ODPS) 的建表语句
+ * <p>
+ * 翻译分两步，两步都只做哈希查表：
+ * <ol>
+ *     <li>ColumnMeta.type 按源方言的类型表解析为规范化的 {@link SqlType}，同一方言下相同的类型字符串只解析一次；</li>
+ *     <li>{@link SqlType} 按目标方言的输出模板表生成类型文本。</li>
+ * </ol>
+ * 所有表在类加载时预先构建，之后只读，线程安全。{@link #toCreateTables} 并行翻译批量表。
+ * <p>
+ * 无符号整数放宽一级 (bigint unsigned 为 DECIMAL(20,0))，enum / set 转为足够长的 VARCHAR；
+ * CHAR / VARCHAR 超过目标方言的长度上限时转为大文本类型 (longtext / CLOB / text)；
+ * 无法识别的类型只在同一方言族 (相同方言，或 Hive 与 ODPS 之间) 原样保留，否则抛出 IllegalArgumentException。
+ * 表名、列名按目标方言加引号，避免与保留字 (如 desc、order) 冲突。
+ * <p>
+ * 支持的目标方言：mysql, oracle, postgresql, hive, odps。
+ */
+public class DdlTranslator {
+
+    /**
+     * 类型解析缓存的上限，防止异常输入 (如大量不同长度的 varchar) 无限增长
+     */
+    private static final int MAX_CACHED_TYPES_PER_DIALECT = 10000;
+
+    /**
+     * 源方言 -> (小写类型名 -> 基础类型)；未单独登记的方言使用 COMMON_SOURCE_TYPES
+     */
+    private static final Map<String, BaseType> COMMON_SOURCE_TYPES = new HashMap<>();
+    private static final Map<DbType, Map<String, BaseType>> SOURCE_TYPES = new EnumMap<>(DbType.class);
+
+    /**
+     * 目标方言 -> (基础类型 -> 输出模板)
+     */
+    private static final Map<DbType, Map<BaseType, Template>> TARGET_TYPES = new EnumMap<>(DbType.class);
+
+    /**
+     * 目标方言的 DECIMAL 最大精度
+     */
+    private static final Map<DbType, Integer> MAX_DECIMAL_PRECISION = new EnumMap<>(DbType.class);
+
+    /**
+     * 目标方言 TIME / TIMESTAMP 的最大秒精度 (小数位数)
+     */
+    private static final Map<DbType, Integer> MAX_FRACTION_PRECISION = new EnumMap<>(DbType.class);
+
+    /**
+     * 目标方言 CHAR / VARCHAR 的最大长度，超过时输出 TEXT 模板；未登记的方言 (Hive / ODPS 的 STRING) 不限制
+     */
+    private static final Map<DbType, Integer> MAX_CHAR_LENGTH = new EnumMap<>(DbType.class);
+    private static final Map<DbType, Integer> MAX_VARCHAR_LENGTH = new EnumMap<>(DbType.class);
+
+    private static final Pattern ENUM_TYPE = Pattern.compile("(?i)^\\s*(enum|set)\\s*\\(");
+
+    private static final Map<DbType, Map<String, SqlType>> PARSED_TYPES = new ConcurrentHashMap<>();
+
+    static {
+        register(COMMON_SOURCE_TYPES, BaseType.TINYINT, "tinyint");
+        register(COMMON_SOURCE_TYPES, BaseType.SMALLINT, "smallint", "int2", "smallserial", "year");
+        register(COMMON_SOURCE_TYPES, BaseType.INT, "int", "integer", "mediumint", "int4", "serial");
+        register(COMMON_SOURCE_TYPES, BaseType.BIGINT, "bigint", "int8", "bigserial", "long");
+        register(COMMON_SOURCE_TYPES, BaseType.DECIMAL, "decimal", "numeric", "dec", "number", "money");
+        register(COMMON_SOURCE_TYPES, BaseType.FLOAT, "float", "real", "float4", "binary_float");
+        register(COMMON_SOURCE_TYPES, BaseType.DOUBLE, "double", "double precision", "float8", "binary_double");
+        register(COMMON_SOURCE_TYPES, BaseType.BOOLEAN, "boolean", "bool", "bit");
+        register(COMMON_SOURCE_TYPES, BaseType.CHAR, "char", "character", "nchar", "bpchar");
+        register(COMMON_SOURCE_TYPES, BaseType.VARCHAR, "varchar", "character varying", "varchar2", "nvarchar", "nvarchar2");
+        register(COMMON_SOURCE_TYPES, BaseType.TEXT, "string", "text", "tinytext", "mediumtext", "longtext", "clob", "nclob", "long varchar");
+        register(COMMON_SOURCE_TYPES, BaseType.DATE, "date");
+        register(COMMON_SOURCE_TYPES, BaseType.TIME, "time", "timetz", "time with time zone", "time without time zone");
+        register(COMMON_SOURCE_TYPES, BaseType.DATETIME, "datetime", "datetime2", "smalldatetime", "timestamp", "timestamptz",
+                "timestamp with time zone", "timestamp without time zone", "timestamp with local time zone");
+        register(COMMON_SOURCE_TYPES, BaseType.BINARY, "binary", "varbinary", "blob", "tinyblob", "mediumblob", "longblob",
+                "bytea", "raw", "long raw", "image");
+        register(COMMON_SOURCE_TYPES, BaseType.JSON, "json", "jsonb");
+
+        // Oracle：DATE 含时分秒；FLOAT 是二进制精度 126 的浮点数
+        Map<String, BaseType> oracle = new HashMap<>(COMMON_SOURCE_TYPES);
+        register(oracle, BaseType.DATETIME, "date");
+        register(oracle, BaseType.DOUBLE, "float");
+        register(oracle, BaseType.TEXT, "long");
+        SOURCE_TYPES.put(DbType.oracle, oracle);
+
+        // ClickHouse：Int8 等按位宽命名，与 PostgreSQL 的 int8 (bigint) 含义不同；UInt 系列在解析时按无符号放宽
+        Map<String, BaseType> clickhouse = new HashMap<>(COMMON_SOURCE_TYPES);
+        register(clickhouse, BaseType.TINYINT, "int8", "uint8");
+        register(clickhouse, BaseType.SMALLINT, "int16", "uint16");
+        register(clickhouse, BaseType.INT, "int32", "uint32");
+        register(clickhouse, BaseType.BIGINT, "int64", "uint64");
+        register(clickhouse, BaseType.FLOAT, "float32");
+        register(clickhouse, BaseType.DOUBLE, "float64");
+        register(clickhouse, BaseType.DATETIME, "datetime64");
+        SOURCE_TYPES.put(DbType.clickhouse, clickhouse);
+
+        Map<BaseType, Template> mysql = new EnumMap<>(BaseType.class);
+        mysql.put(BaseType.TINYINT, Template.of("tinyint"));
+        mysql.put(BaseType.SMALLINT, Template.of("smallint"));
+        mysql.put(BaseType.INT, Template.of("int"));
+        mysql.put(BaseType.BIGINT, Template.of("bigint"));
+        mysql.put(BaseType.DECIMAL, Template.of("decimal({P},{S})", "decimal(38,10)"));
+        mysql.put(BaseType.FLOAT, Template.of("float"));
+        mysql.put(BaseType.DOUBLE, Template.of("double"));
+        mysql.put(BaseType.BOOLEAN, Template.of("tinyint(1)"));
+        mysql.put(BaseType.CHAR, Template.of("char({L})", "char(1)"));
+        mysql.put(BaseType.VARCHAR, Template.of("varchar({L})", "varchar(255)"));
+        mysql.put(BaseType.TEXT, Template.of("longtext"));
+        mysql.put(BaseType.DATE, Template.of("date"));
+        mysql.put(BaseType.TIME, Template.of("time({P})", "time"));
+        mysql.put(BaseType.DATETIME, Template.of("datetime({P})", "datetime"));
+        mysql.put(BaseType.BINARY, Template.of("longblob"));
+        mysql.put(BaseType.JSON, Template.of("json"));
+        TARGET_TYPES.put(DbType.mysql, mysql);
+        MAX_DECIMAL_PRECISION.put(DbType.mysql, 65);
+        MAX_FRACTION_PRECISION.put(DbType.mysql, 6);
+        MAX_CHAR_LENGTH.put(DbType.mysql, 255);
+        MAX_VARCHAR_LENGTH.put(DbType.mysql, 16383); // utf8mb4 下 65535 字节的行长度上限
+
+        Map<BaseType, Template> oracleTarget = new EnumMap<>(BaseType.class);
+        oracleTarget.put(BaseType.TINYINT, Template.of("NUMBER(3)"));
+        oracleTarget.put(BaseType.SMALLINT, Template.of("NUMBER(5)"));
+        oracleTarget.put(BaseType.INT, Template.of("NUMBER(10)"));
+        oracleTarget.put(BaseType.BIGINT, Template.of("NUMBER(19)"));
+        oracleTarget.put(BaseType.DECIMAL, Template.of("NUMBER({P},{S})", "NUMBER"));
+        oracleTarget.put(BaseType.FLOAT, Template.of("BINARY_FLOAT"));
+        oracleTarget.put(BaseType.DOUBLE, Template.of("BINARY_DOUBLE"));
+        oracleTarget.put(BaseType.BOOLEAN, Template.of("NUMBER(1)"));
+        oracleTarget.put(BaseType.CHAR, Template.of("CHAR({L})", "CHAR(1)"));
+        oracleTarget.put(BaseType.VARCHAR, Template.of("VARCHAR2({L})", "VARCHAR2(4000)"));
+        oracleTarget.put(BaseType.TEXT, Template.of("CLOB"));
+        oracleTarget.put(BaseType.DATE, Template.of("DATE"));
+        oracleTarget.put(BaseType.TIME, Template.of("VARCHAR2(16)"));
+        oracleTarget.put(BaseType.DATETIME, Template.of("TIMESTAMP({P})", "TIMESTAMP"));
+        oracleTarget.put(BaseType.BINARY, Template.of("BLOB"));
+        oracleTarget.put(BaseType.JSON, Template.of("CLOB"));
+        TARGET_TYPES.put(DbType.oracle, oracleTarget);
+        MAX_DECIMAL_PRECISION.put(DbType.oracle, 38);
+        MAX_FRACTION_PRECISION.put(DbType.oracle, 9);
+        MAX_CHAR_LENGTH.put(DbType.oracle, 2000);
+        MAX_VARCHAR_LENGTH.put(DbType.oracle, 4000); // MAX_STRING_SIZE = STANDARD
+
+        Map<BaseType, Template> postgresql = new EnumMap<>(BaseType.class);
+        postgresql.put(BaseType.TINYINT, Template.of("smallint"));
+        postgresql.put(BaseType.SMALLINT, Template.of("smallint"));
+        postgresql.put(BaseType.INT, Template.of("integer"));
+        postgresql.put(BaseType.BIGINT, Template.of("bigint"));
+        postgresql.put(BaseType.DECIMAL, Template.of("numeric({P},{S})", "numeric"));
+        postgresql.put(BaseType.FLOAT, Template.of("real"));
+        postgresql.put(BaseType.DOUBLE, Template.of("double precision"));
+        postgresql.put(BaseType.BOOLEAN, Template.of("boolean"));
+        postgresql.put(BaseType.CHAR, Template.of("char({L})", "char(1)"));
+        postgresql.put(BaseType.VARCHAR, Template.of("varchar({L})", "varchar"));
+        postgresql.put(BaseType.TEXT, Template.of("text"));
+        postgresql.put(BaseType.DATE, Template.of("date"));
+        postgresql.put(BaseType.TIME, Template.of("time({P})", "time"));
+        postgresql.put(BaseType.DATETIME, Template.of("timestamp({P})", "timestamp"));
+        postgresql.put(BaseType.BINARY, Template.of("bytea"));
+        postgresql.put(BaseType.JSON, Template.of("jsonb"));
+        TARGET_TYPES.put(DbType.postgresql, postgresql);
+        MAX_DECIMAL_PRECISION.put(DbType.postgresql, 1000);
+        MAX_FRACTION_PRECISION.put(DbType.postgresql, 6);
+        MAX_CHAR_LENGTH.put(DbType.postgresql, 10485760);
+        MAX_VARCHAR_LENGTH.put(DbType.postgresql, 10485760);
+
+        // Hive：字符类型统一为 STRING，没有 TIME 类型
+        Map<BaseType, Template> hive = new EnumMap<>(BaseType.class);
+        hive.put(BaseType.TINYINT, Template.of("TINYINT"));
+        hive.put(BaseType.SMALLINT, Template.of("SMALLINT"));
+        hive.put(BaseType.INT, Template.of("INT"));
+        hive.put(BaseType.BIGINT, Template.of("BIGINT"));
+        hive.put(BaseType.DECIMAL, Template.of("DECIMAL({P},{S})", "DECIMAL(38,10)"));
+        hive.put(BaseType.FLOAT, Template.of("FLOAT"));
+        hive.put(BaseType.DOUBLE, Template.of("DOUBLE"));
+        hive.put(BaseType.BOOLEAN, Template.of("BOOLEAN"));
+        hive.put(BaseType.CHAR, Template.of("STRING"));
+        hive.put(BaseType.VARCHAR, Template.of("STRING"));
+        hive.put(BaseType.TEXT, Template.of("STRING"));
+        hive.put(BaseType.DATE, Template.of("DATE"));
+        hive.put(BaseType.TIME, Template.of("STRING"));
+        hive.put(BaseType.DATETIME, Template.of("TIMESTAMP"));
+        hive.put(BaseType.BINARY, Template.of("BINARY"));
+        hive.put(BaseType.JSON, Template.of("STRING"));
+        TARGET_TYPES.put(DbType.hive, hive);
+        MAX_DECIMAL_PRECISION.put(DbType.hive, 38);
+
+        // ODPS 与 Hive 基本一致，日期时间使用 DATETIME
+        Map<BaseType, Template> odps = new EnumMap<>(hive);
+        odps.put(BaseType.DATETIME, Template.of("DATETIME"));
+        TARGET_TYPES.put(DbType.odps, odps);
+        MAX_DECIMAL_PRECISION.put(DbType.odps, 38);
+    }
+
+    /**
+     * 将原始类型字符串解析为规范化类型 (带缓存)
+     *
+     * @param rawType 原始类型，如 "NUMBER(10, 2)"、"varchar(64)"
+     * @param source  源数据库类型
+     * @return 规范化类型；无法识别时 baseType 为 OTHER
+     */
+    public static SqlType parseType(String rawType, DbType source) {
+        Map<String, SqlType> cache = PARSED_TYPES.computeIfAbsent(source, k -> new ConcurrentHashMap<>());
+        SqlType type = cache.get(rawType);
+        if (type == null) {
+            type = doParseType(rawType, source);
+            if (cache.size() < MAX_CACHED_TYPES_PER_DIALECT) cache.put(rawType, type);
+        }
+        return type;
+    }
+
+    /**
+     * 翻译单个字段类型
+     *
+     * @param rawType 源方言中的类型字符串
+     * @param source  源数据库类型
+     * @param target  目标数据库类型
+     * @return 目标方言中的类型字符串
+     * @throws IllegalArgumentException 类型无法识别，且源方言与目标方言不属于同一方言族
+     */
+    public static String translateType(String rawType, DbType source, DbType target) {
+        SqlType type = parseType(rawType, source);
+        if (type.getBaseType() == BaseType.OTHER && !sameFamily(source, target)) {
+            throw new IllegalArgumentException("无法将 " + source + " 类型 [" + rawType + "] 翻译为 " + target);
+        }
+        return render(type, target);
+    }
+
+    /**
+     * 将规范化类型输出为目标方言的类型文本
+     * <p>
+     * OTHER 类型原样输出，由调用方确认目标方言支持 ({@link #translateType} 会做此检查)
+     */
+    public static String render(SqlType type, DbType target) {
+        Map<BaseType, Template> templates = targetTypes(target);
+        if (type.getBaseType() == BaseType.OTHER) return type.getRaw();
+
+        Integer length = type.getLength();
+        if (length != null && (type.getBaseType() == BaseType.CHAR || type.getBaseType() == BaseType.VARCHAR)) {
+            Integer max = (type.getBaseType() == BaseType.CHAR ? MAX_CHAR_LENGTH : MAX_VARCHAR_LENGTH).get(target);
+            if (max != null && length > max) return templates.get(BaseType.TEXT).render(null, null, null);
+        }
+        Integer precision = type.getPrecision();
+        Integer scale = type.getScale();
+        if (type.getBaseType() == BaseType.DECIMAL && precision != null) {
+            int max = MAX_DECIMAL_PRECISION.get(target);
+            if (precision > max) precision = max;
+            if (scale == null) scale = 0;
+            if (scale > precision) scale = precision;
+        }
+        if ((type.getBaseType() == BaseType.TIME || type.getBaseType() == BaseType.DATETIME) && precision != null) {
+            Integer max = MAX_FRACTION_PRECISION.get(target);
+            if (max != null && precision > max) precision = max;
+        }
+        return templates.get(type.getBaseType()).render(length, precision, scale);
+    }
+
+    /**
+     * 生成目标方言的建表语句
+     * <p>
+     * 源方言取 TableMeta.dbType。分区列在 Hive / ODPS 中输出为 PARTITIONED BY，其它方言作为普通列追加；
+     * 字段注释在 Oracle / PostgreSQL 中输出为单独的 COMMENT ON COLUMN 语句。
+     * 标识符按目标方言加引号：MySQL / Hive / ODPS 使用反引号；Oracle / PostgreSQL 使用双引号，
+     * 并先按其对未加引号标识符的规则转为大写 / 小写，引用的仍是同一个名称。
+     *
+     * @param tableMeta 表元数据
+     * @param target    目标数据库类型
+     * @return 以分号结尾的 DDL，可能包含多条语句
+     */
+    public static String toCreateTable(TableMeta tableMeta, DbType target) {
+        targetTypes(target);
+        DbType source = tableMeta.getDbType() == null ? target : DbType.valueOf(tableMeta.getDbType());
+        boolean partitionClause = target == DbType.hive || target == DbType.odps;
+        boolean inlineComment = target == DbType.mysql || partitionClause;
+
+        String tableName = tableMeta.getSchema() == null
+                ? quoteIdentifier(tableMeta.getTableName(), target)
+                : quoteIdentifier(tableMeta.getSchema(), target) + "." + quoteIdentifier(tableMeta.getTableName(), target);
+
+        List<ColumnMeta> columns = new ArrayList<>(tableMeta.getColumns());
+        List<ColumnMeta> partitions = tableMeta.getPartitionColumns() == null
+                ? Collections.emptyList() : tableMeta.getPartitionColumns();
+        if (!partitionClause) columns.addAll(partitions);
+
+        StringBuilder ddl = new StringBuilder(64 + columns.size() * 48);
+        ddl.append("CREATE TABLE ").append(tableName).append(" (\n");
+        List<String> primaryKeys = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMeta column = columns.get(i);
+            appendColumn(ddl, column, source, target, inlineComment);
+            if (column.isPrimaryKey()) primaryKeys.add(quoteIdentifier(column.getName(), target));
+            if (i < columns.size() - 1) ddl.append(",\n");
+        }
+        // Hive / ODPS 不支持强制主键约束，不输出
+        if (!primaryKeys.isEmpty() && !partitionClause) {
+            ddl.append(",\n    PRIMARY KEY (").append(String.join(", ", primaryKeys)).append(")");
+        }
+        ddl.append("\n)");
+
+        if (partitionClause && !partitions.isEmpty()) {
+            ddl.append("\nPARTITIONED BY (");
+            for (int i = 0; i < partitions.size(); i++) {
+                if (i > 0) ddl.append(", ");
+                ColumnMeta partition = partitions.get(i);
+                ddl.append(quoteIdentifier(partition.getName(), target)).append(" ").append(translateType(partition.getType(), source, target));
+                if (!isEmpty(partition.getComment())) ddl.append(" COMMENT ").append(quote(partition.getComment()));
+            }
+            ddl.append(")");
+        }
+        ddl.append(";");
+
+        if (!inlineComment) {
+            for (ColumnMeta column : columns) {
+                if (isEmpty(column.getComment())) continue;
+                ddl.append("\nCOMMENT ON COLUMN ").append(tableName).append(".").append(quoteIdentifier(column.getName(), target))
+                        .append(" IS ").append(quote(column.getComment())).append(";");
+            }
+        }
+        return ddl.toString();
+    }
+
+    /**
+     * 批量生成目标方言的建表语句 (并行)
+     *
+     * @param tables 表元数据列表
+     * @param target 目标数据库类型
+     * @return 与 tables 顺序一致的 DDL 列表
+     */
+    public static List<String> toCreateTables(List<TableMeta> tables, DbType target) {
+        targetTypes(target);
+        return tables.parallelStream()
+                .map(table -> toCreateTable(table, target))
+                .collect(Collectors.toList());
+    }
+
+    // --- 私有辅助方法 ---
+
+    private static void appendColumn(StringBuilder ddl, ColumnMeta column, DbType source, DbType target, boolean inlineComment) {
+        ddl.append("    ").append(quoteIdentifier(column.getName(), target)).append(" ").append(translateType(column.getType(), source, target));
+        if (inlineComment && !isEmpty(column.getComment())) {
+            ddl.append(" COMMENT ").append(quote(column.getComment()));
+        }
+    }
+
+    private static SqlType doParseType(String rawType, DbType source) {
+        if (rawType == null || rawType.trim().isEmpty()) {
+            return new SqlType(BaseType.OTHER, null, null, null, rawType);
+        }
+        if (ENUM_TYPE.matcher(rawType).find()) {
+            return enumType(rawType);
+        }
+        SqlType.Parts parts = SqlType.Parts.of(rawType);
+        if (parts.complex) {
+            return new SqlType(BaseType.OTHER, null, null, null, rawType.trim());
+        }
+
+        Map<String, BaseType> names = SOURCE_TYPES.getOrDefault(source, COMMON_SOURCE_TYPES);
+        BaseType baseType = parts.suffix.isEmpty() ? null : names.get(parts.name + " " + parts.suffix);
+        if (baseType == null) baseType = names.get(parts.name);
+        if (baseType == null && parts.name.startsWith("nullable")) {
+            // ClickHouse 的 Nullable(T)：取括号内的类型
+            int open = rawType.indexOf('(');
+            int close = rawType.lastIndexOf(')');
+            if (open >= 0 && close > open) return doParseType(rawType.substring(open + 1, close), source);
+        }
+        if (baseType == null) {
+            return new SqlType(BaseType.OTHER, null, null, null, rawType.trim());
+        }
+
+        switch (baseType) {
+            case CHAR:
+            case VARCHAR:
+                return new SqlType(baseType, parts.arg(0), null, null, rawType);
+            case DECIMAL:
+                Integer precision = parts.arg(0);
+                Integer scale = parts.arg(1);
+                // Oracle 的 NUMBER(p) / NUMBER(p, 0) 实际是整数，按精度归入整数类型；NUMBER(*, 0) 为 38 位整数
+                if (source == DbType.oracle && precision == null && scale != null && scale == 0) {
+                    precision = 38;
+                }
+                if (source == DbType.oracle && precision != null && (scale == null || scale == 0)) {
+                    if (precision <= 9) return new SqlType(BaseType.INT, null, null, null, rawType);
+                    if (precision <= 18) return new SqlType(BaseType.BIGINT, null, null, null, rawType);
+                }
+                return new SqlType(BaseType.DECIMAL, null, precision, scale, rawType);
+            case TIME:
+            case DATETIME:
+                return new SqlType(baseType, null, parts.arg(0), null, rawType);
+            case BOOLEAN:
+                // MySQL 的 bit(n) (n > 1) 是位串
+                Integer bits = parts.arg(0);
+                return bits != null && bits > 1
+                        ? new SqlType(BaseType.BINARY, null, null, null, rawType)
+                        : new SqlType(BaseType.BOOLEAN, null, null, null, rawType);
+            case TINYINT:
+            case SMALLINT:
+            case INT:
+            case BIGINT:
+                // 整数的显示宽度 (如 bigint(20)) 忽略；无符号整数放宽一级，才能容纳其最大值
+                boolean unsigned = parts.unsigned || source == DbType.clickhouse && parts.name.startsWith("uint");
+                return unsigned ? unsignedType(baseType, rawType) : new SqlType(baseType, null, null, null, rawType);
+            default:
+                return new SqlType(baseType, null, null, null, rawType);
+        }
+    }
+
+    private static SqlType unsignedType(BaseType baseType, String rawType) {
+        switch (baseType) {
+            case TINYINT:
+                return new SqlType(BaseType.SMALLINT, null, null, null, rawType);
+            case SMALLINT:
+                return new SqlType(BaseType.INT, null, null, null, rawType);
+            case INT:
+                return new SqlType(BaseType.BIGINT, null, null, null, rawType);
+            default:
+                return new SqlType(BaseType.DECIMAL, null, 20, 0, rawType); // 最大值 18446744073709551615 共 20 位
+        }
+    }
+
+    /**
+     * MySQL 的 enum / set 转为 VARCHAR：enum 取最长的取值，set 取所有取值以逗号连接后的长度
+     */
+    private static SqlType enumType(String rawType) {
+        boolean set = rawType.trim().toLowerCase(Locale.ROOT).startsWith("set");
+        int longest = 0;
+        int total = 0;
+        int count = 0;
+        int i = rawType.indexOf('(') + 1;
+        while (i < rawType.length()) {
+            if (rawType.charAt(i++) != '\'') continue;
+            // 单引号内的取值，'' 或 \' 为转义的单引号
+            int length = 0;
+            while (i < rawType.length()) {
+                char c = rawType.charAt(i++);
+                if (c == '\\' && i < rawType.length()) {
+                    i++;
+                } else if (c == '\'') {
+                    if (i < rawType.length() && rawType.charAt(i) == '\'') {
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                length++;
+            }
+            longest = Math.max(longest, length);
+            total += length;
+            count++;
+        }
+        int length = set ? total + Math.max(count - 1, 0) : longest;
+        return new SqlType(BaseType.VARCHAR, Math.max(length, 1), null, null, rawType);
+    }
+
+    private static boolean sameFamily(DbType source, DbType target) {
+        if (source == target) return true;
+        return (source == DbType.hive || source == DbType.odps) && (target == DbType.hive || target == DbType.odps);
+    }
+
+    /**
+     * 按目标方言为标识符加引号 (见 {@link #toCreateTable})
+     */
+    private static String quoteIdentifier(String name, DbType target) {
+        switch (target) {
+            case oracle:
+                return "\"" + name.toUpperCase(Locale.ROOT).replace("\"", "\"\"") + "\"";
+            case postgresql:
+                return "\"" + name.toLowerCase(Locale.ROOT).replace("\"", "\"\"") + "\"";
+            default:
+                return "`" + name.replace("`", "``") + "`";
+        }
+    }
+
+    private static Map<BaseType, Template> targetTypes(DbType target) {
+        Map<BaseType, Template> templates = TARGET_TYPES.get(target);
+        if (templates == null) {
+            throw new IllegalArgumentException("不支持的目标数据库类型: " + target);
+        }
+        return templates;
+    }
+
+    private static void register(Map<String, BaseType> names, BaseType baseType, String... typeNames) {
+        for (String typeName : typeNames) {
+            names.put(typeName, baseType);
+        }
+    }
+
+    private static String quote(String text) {
+        return "'" + text.replace("'", "''") + "'";
+    }
+
+    private static boolean isEmpty(String text) {
+        return text == null || text.isEmpty();
+    }
+
+    /**
+     * 类型输出模板：{L} 长度、{P} 精度、{S} 标度；模板所需参数缺失时使用 fallback
+     */
+    private static class Template {
+        private final String pattern;
+        private final String fallback;
+        private final boolean needsLength;
+        private final boolean needsPrecision;
+
+        private Template(String pattern, String fallback) {
+            this.pattern = pattern;
+            this.fallback = fallback;
+            this.needsLength = pattern.contains("{L}");
+            this.needsPrecision = pattern.contains("{P}");
+        }
+
+        static Template of(String pattern) {
+            return new Template(pattern, pattern);
+        }
+
+        static Template of(String pattern, String fallback) {
+            return new Template(pattern, fallback);
+        }
+
+        String render(Integer length, Integer precision, Integer scale) {
+            if (needsLength) {
+                return length == null ? fallback : pattern.replace("{L}", String.valueOf(length));
+            }
+            if (needsPrecision) {
+                if (precision == null) return fallback;
+                String text = pattern.replace("{P}", String.valueOf(precision));
+                return scale == null ? text : text.replace("{S}", String.valueOf(scale));
+            }
+            return pattern;
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package com.fluckyeli.ddlparser;
+
+import com.alibaba.druid.DbType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 轻量级 CREATE TABLE 解析器 (快速路径)
+ * <p>
+ * 手写的词法 + 递归下降，只识别脚本生成的 DDL 中最常见的子集，直接产出 TableMeta，不构建 Druid AST：
+ * <ul>
+ *     <li>CREATE TABLE [IF NOT EXISTS] [schema.]table</li>
+ *     <li>列定义：列名 类型[(精度[, 标度])] [NOT NULL | NULL | DEFAULT 字面量 | AUTO_INCREMENT | PRIMARY KEY | COMMENT '...']*</li>
+ *     <li>表级主键：[CONSTRAINT 名称] PRIMARY KEY (列, ...)</li>
+ *     <li>表选项：COMMENT、PARTITIONED BY (...)、LIFECYCLE、ENGINE、[DEFAULT] CHARSET / COLLATE、AUTO_INCREMENT、STORED AS</li>
+ * </ul>
+ * 遇到任何不认识的语法都返回 null，由 {@link GenericDdlParserUtils} 自动回退到 Druid 完整解析。
+ * 输出与 Druid 路径保持一致：类型参数以 ", " 分隔、名称去除反引号与双引号、注释去除单引号。
+ */
+final class FastCreateTableParser {
+
+    private static final int EOF = 0;
+    private static final int WORD = 1;
+    private static final int QUOTED = 2; // `name` 或 "name"
+    private static final int STRING = 3; // 'text'
+    private static final int NUMBER = 4;
+    private static final int SYMBOL = 5;
+
+    /**
+     * 不支持的语法，无堆栈，仅用于快速跳出
+     */
+    private static final RuntimeException UNSUPPORTED = new RuntimeException("unsupported", null, false, false) {
+    };
+
+    private final String sql;
+    private final int length;
+    private final DbType dbType;
+
+    private int pos;
+    // 当前 token：类型与 [start, end) 区间
+    private int kind;
+    private int start;
+    private int end;
+
+    // 跳过语句时使用宽松词法，不认识的字符当作符号处理
+    private boolean lenient = false;
+
+    private FastCreateTableParser(String sql, DbType dbType) {
+        this.sql = sql;
+        this.length = sql.length();
+        this.dbType = dbType;
+    }
+
+    /**
+     * 解析单条建表语句 (只看第一条语句)
+     *
+     * @return 不支持的语法返回 null
+     */
+    static TableMeta parse(String ddl, DbType dbType) {
+        FastCreateTableParser parser = new FastCreateTableParser(ddl, dbType);
+        try {
+            parser.next();
+            return parser.parseCreateTable();
+        } catch (RuntimeException e) {
+            if (e != UNSUPPORTED) throw e;
+            return null;
+        }
+    }
+
+    /**
+     * CREATE 与 TABLE 之间允许出现的修饰词 (CREATE EXTERNAL TABLE、CREATE GLOBAL TEMPORARY TABLE 等)
+     */
+    private static final Set<String> TABLE_MODIFIERS = new HashSet<>(Arrays.asList(
+            "OR", "REPLACE", "EXTERNAL", "TEMPORARY", "TEMP", "GLOBAL", "LOCAL", "TRANSACTIONAL", "UNLOGGED", "VOLATILE"));
+
+    /**
+     * 解析多段 DDL：能识别的建表语句走快速路径，不能识别的建表语句单独交给 Druid，其余语句直接忽略
+     *
+     * @return 成功回调的表数量
+     */
+    static int parseMulti(String sql, DbType dbType, Consumer<TableMeta> consumer) {
+        FastCreateTableParser parser = new FastCreateTableParser(sql, dbType);
+        parser.lenient = true;
+        parser.next();
+
+        int count = 0;
+        while (parser.kind != EOF) {
+            if (parser.isSymbol(';')) {
+                parser.next();
+                continue;
+            }
+
+            int stmtStart = parser.start;
+            if (!parser.isWord("CREATE")) {
+                parser.skipStatement(); // 与 Druid 路径一致，忽略 INSERT, DROP, SET 等
+                continue;
+            }
+
+            TableMeta tableMeta = null;
+            try {
+                parser.lenient = false;
+                tableMeta = parser.parseCreateTable();
+            } catch (RuntimeException e) {
+                if (e != UNSUPPORTED) throw e;
+            } finally {
+                parser.lenient = true;
+            }
+
+            if (tableMeta == null) {
+                // 回到语句开头：建表语句整条交给 Druid，CREATE INDEX / VIEW / SEQUENCE 等与 Druid 路径一致直接忽略
+                parser.pos = stmtStart;
+                parser.next();
+                boolean createTable = parser.isCreateTable();
+                int stmtEnd = parser.skipStatement();
+                if (createTable) {
+                    tableMeta = GenericDdlParserUtils.parseCreateTable(sql.substring(stmtStart, stmtEnd), dbType);
+                }
+            }
+            if (tableMeta != null) {
+                consumer.accept(tableMeta);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 判断当前 CREATE 语句是否为建表语句：CREATE [修饰词...] TABLE，读取到 TABLE 或第一个其它词为止
+     */
+    private boolean isCreateTable() {
+        next(); // CREATE
+        while (kind == WORD && TABLE_MODIFIERS.contains(sql.substring(start, end).toUpperCase(Locale.ROOT))) {
+            next();
+        }
+        return isWord("TABLE");
+    }
+
+    /**
+     * 跳过当前语句 (直到顶层分号或结尾)，停在分号之后
+     *
+     * @return 语句结束位置 (不含分号)
+     */
+    private int skipStatement() {
+        int depth = 0;
+        while (kind != EOF) {
+            if (isSymbol('(')) {
+                depth++;
+            } else if (isSymbol(')')) {
+                depth--;
+            } else if (isSymbol(';') && depth <= 0) {
+                int stmtEnd = start;
+                next();
+                return stmtEnd;
+            }
+            next();
+        }
+        return length;
+    }
+
+    // --- 语法 ---
+
+    private TableMeta parseCreateTable() {
+        expectWord("CREATE");
+        expectWord("TABLE");
+        if (isWord("IF")) {
+            next();
+            expectWord("NOT");
+            expectWord("EXISTS");
+        }
+
+        TableMeta tableMeta = new TableMeta();
+        tableMeta.setDbType(dbType.name());
+        String name = identifier();
+        if (isSymbol('.')) {
+            next();
+            tableMeta.setSchema(name);
+            name = identifier();
+        }
+        tableMeta.setTableName(name);
+
+        expectSymbol('(');
+        List<String> primaryKeys = null;
+        while (true) {
+            if (isWord("PRIMARY") || isWord("CONSTRAINT")) {
+                primaryKeys = tablePrimaryKey();
+            } else {
+                tableMeta.getColumns().add(column());
+            }
+            if (isSymbol(',')) {
+                next();
+                continue;
+            }
+            expectSymbol(')');
+            break;
+        }
+
+        tableOptions(tableMeta);
+        if (kind != EOF && !isSymbol(';')) throw UNSUPPORTED;
+
+        if (primaryKeys != null) markPrimaryKeys(tableMeta.getColumns(), primaryKeys);
+        return tableMeta;
+    }
+
+    /**
+     * [CONSTRAINT 名称] PRIMARY KEY (列, ...)
+     */
+    private List<String> tablePrimaryKey() {
+        if (isWord("CONSTRAINT")) {
+            next();
+            identifier();
+        }
+        expectWord("PRIMARY");
+        expectWord("KEY");
+        expectSymbol('(');
+        List<String> names = new ArrayList<>(2);
+        names.add(identifier());
+        while (isSymbol(',')) {
+            next();
+            names.add(identifier());
+        }
+        expectSymbol(')');
+        return names;
+    }
+
+    private ColumnMeta column() {
+        String name = identifier();
+        String type = dataType();
+        String comment = null;
+        boolean isPk = false;
+
+        while (true) {
+            if (isWord("NOT")) {
+                next();
+                expectWord("NULL");
+            } else if (isWord("NULL") || isWord("AUTO_INCREMENT")) {
+                next();
+            } else if (isWord("DEFAULT")) {
+                next();
+                defaultValue();
+            } else if (isWord("PRIMARY")) {
+                next();
+                expectWord("KEY");
+                isPk = true;
+            } else if (isWord("COMMENT")) {
+                next();
+                comment = stringLiteral();
+            } else {
+                break;
+            }
+        }
+        if (!isSymbol(',') && !isSymbol(')')) throw UNSUPPORTED;
+        return new ColumnMeta(name, type, comment, isPk);
+    }
+
+    /**
+     * 类型名[(整数[, 整数])]，与 Druid 的 toString 输出保持一致
+     */
+    private String dataType() {
+        if (kind != WORD) throw UNSUPPORTED;
+        int typeStart = start;
+        int typeEnd = end;
+        next();
+        if (!isSymbol('(')) {
+            return sql.substring(typeStart, typeEnd);
+        }
+
+        next();
+        StringBuilder type = new StringBuilder(16).append(sql, typeStart, typeEnd).append('(');
+        type.append(number());
+        while (isSymbol(',')) {
+            next();
+            type.append(", ").append(number());
+        }
+        expectSymbol(')');
+        return type.append(')').toString();
+    }
+
+    /**
+     * DEFAULT 之后的简单字面量：字符串、(负)数字、NULL 或 CURRENT_TIMESTAMP 之类的单词
+     */
+    private void defaultValue() {
+        if (isSymbol('-')) next();
+        if (kind == STRING || kind == NUMBER || kind == WORD) {
+            if (kind == STRING) stringLiteral();
+            else next();
+            if (isSymbol('(')) throw UNSUPPORTED; // 函数调用交给 Druid
+            return;
+        }
+        throw UNSUPPORTED;
+    }
+
+    private void tableOptions(TableMeta tableMeta) {
+        while (kind == WORD) {
+            if (isWord("COMMENT")) {
+                next();
+                optionalEquals();
+                stringLiteral();
+            } else if (isWord("PARTITIONED")) {
+                next();
+                expectWord("BY");
+                expectSymbol('(');
+                tableMeta.getPartitionColumns().add(column());
+                while (isSymbol(',')) {
+                    next();
+                    tableMeta.getPartitionColumns().add(column());
+                }
+                expectSymbol(')');
+            } else if (isWord("LIFECYCLE")) {
+                next();
+                number();
+            } else if (isWord("AUTO_INCREMENT")) {
+                next();
+                optionalEquals();
+                number();
+            } else if (isWord("ENGINE") || isWord("CHARSET") || isWord("COLLATE")) {
+                next();
+                optionalEquals();
+                word();
+            } else if (isWord("DEFAULT")) {
+                next();
+                if (!isWord("CHARSET") && !isWord("COLLATE")) throw UNSUPPORTED;
+                next();
+                optionalEquals();
+                word();
+            } else if (isWord("STORED")) {
+                next();
+                expectWord("AS");
+                word();
+            } else {
+                throw UNSUPPORTED;
+            }
+        }
+    }
+
+    /**
+     * 表级主键的列在 ColumnMeta 中同样标记为主键 (与 Druid 一致，忽略大小写)
+     */
+    private static void markPrimaryKeys(List<ColumnMeta> columns, List<String> primaryKeys) {
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMeta column = columns.get(i);
+            if (column.isPrimaryKey()) continue;
+            for (String pk : primaryKeys) {
+                if (pk.equalsIgnoreCase(column.getName())) {
+                    columns.set(i, new ColumnMeta(column.getName(), column.getType(), column.getComment(), true));
+                    break;
+                }
+            }
+        }
+    }
+
+    // --- token 辅助 ---
+
+    private String identifier() {
+        if (kind == WORD) {
+            String name = sql.substring(start, end);
+            next();
+            return name;
+        }
+        if (kind == QUOTED) {
+            String name = sql.substring(start + 1, end - 1);
+            next();
+            return name;
+        }
+        throw UNSUPPORTED;
+    }
+
+    private void word() {
+        if (kind != WORD) throw UNSUPPORTED;
+        next();
+    }
+
+    private String number() {
+        if (kind != NUMBER) throw UNSUPPORTED;
+        String number = sql.substring(start, end);
+        next();
+        return number;
+    }
+
+    /**
+     * 字符串字面量，返回去除所有单引号后的内容 (与 GenericDdlParserUtils.cleanQuote 一致)
+     */
+    private String stringLiteral() {
+        if (kind != STRING) throw UNSUPPORTED;
+        int from = start + 1;
+        int to = end - 1;
+        String text = sql.indexOf('\'', from) < to ? sql.substring(from, to).replace("'", "") : sql.substring(from, to);
+        next();
+        return text;
+    }
+
+    private void optionalEquals() {
+        if (isSymbol('=')) next();
+    }
+
+    private void expectWord(String keyword) {
+        if (!isWord(keyword)) throw UNSUPPORTED;
+        next();
+    }
+
+    private void expectSymbol(char symbol) {
+        if (!isSymbol(symbol)) throw UNSUPPORTED;
+        next();
+    }
+
+    private boolean isWord(String keyword) {
+        return kind == WORD && end - start == keyword.length() && sql.regionMatches(true, start, keyword, 0, keyword.length());
+    }
+
+    private boolean isSymbol(char symbol) {
+        return kind == SYMBOL && sql.charAt(start) == symbol;
+    }
+
+    // --- 词法 ---
+
+    /**
+     * 读取下一个 token，跳过空白与注释
+     */
+    private void next() {
+        skipWhitespaceAndComments();
+        start = pos;
+        if (pos >= length) {
+            kind = EOF;
+            end = pos;
+            return;
+        }
+
+        char c = sql.charAt(pos);
+        if (Character.isLetter(c) || c == '_') {
+            pos++;
+            while (pos < length && isWordPart(sql.charAt(pos))) pos++;
+            kind = WORD;
+        } else if (c >= '0' && c <= '9') {
+            pos++;
+            while (pos < length && (Character.isDigit(sql.charAt(pos)) || sql.charAt(pos) == '.')) pos++;
+            kind = NUMBER;
+        } else if (c == '\'') {
+            pos++;
+            while (true) {
+                if (pos >= length) {
+                    if (lenient) break;
+                    throw UNSUPPORTED;
+                }
+                char ch = sql.charAt(pos++);
+                if (ch == '\\') {
+                    if (!lenient) throw UNSUPPORTED; // 反斜杠转义交给 Druid
+                    pos++;
+                    continue;
+                }
+                if (ch == '\'') {
+                    if (pos < length && sql.charAt(pos) == '\'') {
+                        pos++; // '' 转义
+                    } else {
+                        break;
+                    }
+                }
+            }
+            kind = STRING;
+        } else if (c == '`' || (c == '"' && dbType != DbType.mysql)) {
+            int close = sql.indexOf(c, pos + 1);
+            if (close < 0 && !lenient) throw UNSUPPORTED;
+            pos = close < 0 ? length : close + 1;
+            kind = QUOTED;
+        } else if (c == '(' || c == ')' || c == ',' || c == ';' || c == '.' || c == '=' || c == '-') {
+            pos++;
+            kind = SYMBOL;
+        } else if (lenient) {
+            pos++;
+            kind = SYMBOL;
+        } else {
+            throw UNSUPPORTED; // < > [ ] 等复杂类型或方言语法
+        }
+        end = pos;
+    }
+
+    private void skipWhitespaceAndComments() {
+        while (pos < length) {
+            char c = sql.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '-' && pos + 1 < length && sql.charAt(pos + 1) == '-'
+                    || c == '#' && dbType == DbType.mysql) { // MySQL 的 # 单行注释
+                int lineEnd = sql.indexOf('\n', pos);
+                pos = lineEnd < 0 ? length : lineEnd + 1;
+            } else if (c == '/' && pos + 1 < length && sql.charAt(pos + 1) == '*') {
+                int commentEnd = sql.indexOf("*/", pos + 2);
+                if (commentEnd < 0 && !lenient) throw UNSUPPORTED;
+                pos = commentEnd < 0 ? length : commentEnd + 2;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '#';
+    }
+}
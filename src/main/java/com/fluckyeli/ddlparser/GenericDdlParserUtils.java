@@ -7,11 +7,16 @@ import com.alibaba.druid.sql.ast.statement.SQLColumnDefinition;
 import com.alibaba.druid.sql.ast.statement.SQLCreateTableStatement;
 import com.alibaba.druid.sql.ast.statement.SQLDropTableStatement;
 import com.alibaba.druid.sql.ast.statement.SQLTableElement;
+import com.alibaba.druid.sql.parser.Lexer;
+import com.alibaba.druid.sql.parser.SQLParserUtils;
+import com.alibaba.druid.sql.parser.SQLStatementParser;
+import com.alibaba.druid.sql.parser.Token;
 import com.alibaba.druid.util.StringUtils;
 
 import java.sql.SQLSyntaxErrorException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 通用数据库 DDL 解析工具类
@@ -38,34 +43,8 @@ public class GenericDdlParserUtils {
 
             // 2. 确保是建表语句
             if (statement instanceof SQLCreateTableStatement) {
-                SQLCreateTableStatement createTableStmt = (SQLCreateTableStatement) statement;
-                TableMeta tableMeta = new TableMeta();
-                tableMeta.setDbType(dbType.name());
-
-                // 3. 提取表名
-                tableMeta.setTableName(cleanName(createTableStmt.getTableName()));
-
-                // 4. 提取普通列
-                // Druid 将列定义和约束（如主键约束）都放在 TableElementList 中
-                List<SQLTableElement> tableElementList = createTableStmt.getTableElementList();
-                for (SQLTableElement element : tableElementList) {
-                    if (element instanceof SQLColumnDefinition) {
-                        SQLColumnDefinition columnDef = (SQLColumnDefinition) element;
-                        tableMeta.getColumns().add(extractColumnInfo(columnDef));
-                    }
-                }
-
-                // 5. 提取分区列
-                // 注意：只有支持类似 Hive/ODPS 语法 (PARTITIONED BY) 的数据库，此列表才会有值
-                // MySQL 的 Partition By Range 通常不被解析为 ColumnDefinition，而是 PartitionBy 子句，处理方式不同
-                List<SQLColumnDefinition> partitionColumns = createTableStmt.getPartitionColumns();
-                if (partitionColumns != null) {
-                    for (SQLColumnDefinition partitionCol : partitionColumns) {
-                        tableMeta.getPartitionColumns().add(extractColumnInfo(partitionCol));
-                    }
-                }
-
-                return tableMeta;
+                // 3. 提取表名、普通列与分区列
+                return toTableMeta((SQLCreateTableStatement) statement, dbType);
             }else if (statement instanceof SQLDropTableStatement){
                 throw new SQLSyntaxErrorException("这是一个 Drop Table 语句，而非 Create Table 语句。");
             }else {
@@ -85,42 +64,104 @@ public class GenericDdlParserUtils {
      */
     public static List<TableMeta> parseMultiCreateTable(String sql, DbType dbType) {
         List<TableMeta> results = new ArrayList<>();
-        if (StringUtils.isEmpty(sql)) return results;
+        parseMultiCreateTable(sql, dbType, results::add);
+        return results;
+    }
 
-        try {
-            // Druid 会根据分号自动切分多条语句
-            List<SQLStatement> statements = SQLUtils.parseStatements(sql, dbType);
+    /**
+     * 多段 DDL 流式解析方法：每解析出一张表就立即回调，不在内存中积累结果列表
+     * <p>
+     * 适用于数万张表的超大 DDL 文件，下游（如 {@link DataDictionaryExporter}）可以边解析边消费。
+     *
+     * @param sql      包含多段 DDL 的字符串
+     * @param dbType   数据库类型
+     * @param consumer 每张表解析完成后的回调
+     * @return 成功回调的表数量
+     */
+    public static int parseMultiCreateTable(String sql, DbType dbType, Consumer<TableMeta> consumer) {
+        if (StringUtils.isEmpty(sql)) return 0;
 
-            for (SQLStatement statement : statements) {
+        int count = 0;
+        try {
+            // 逐条解析语句，而非一次性 parseStatements 得到整个 List
+            SQLStatementParser parser = SQLParserUtils.createSQLStatementParser(sql, dbType);
+            Lexer lexer = parser.getLexer();
+            while (lexer.token() != Token.EOF) {
+                if (lexer.token() == Token.SEMI) {
+                    lexer.nextToken();
+                    continue;
+                }
+                SQLStatement statement = parser.parseStatement();
                 // 只处理建表语句，忽略其他的（如 INSERT, ALTER, SET 等）
                 if (statement instanceof SQLCreateTableStatement) {
-                    SQLCreateTableStatement createTableStmt = (SQLCreateTableStatement) statement;
-                    TableMeta tableMeta = new TableMeta();
-                    tableMeta.setDbType(dbType.name());
-                    tableMeta.setTableName(cleanName(createTableStmt.getTableName()));
-
-                    // 解析普通列
-                    for (SQLTableElement element : createTableStmt.getTableElementList()) {
-                        if (element instanceof SQLColumnDefinition) {
-                            tableMeta.getColumns().add(extractColumnInfo((SQLColumnDefinition) element));
-                        }
-                    }
-
-                    // 解析分区列
-                    List<SQLColumnDefinition> partitionColumns = createTableStmt.getPartitionColumns();
-                    if (partitionColumns != null) {
-                        for (SQLColumnDefinition partitionCol : partitionColumns) {
-                            tableMeta.getPartitionColumns().add(extractColumnInfo(partitionCol));
-                        }
-                    }
-
-                    results.add(tableMeta);
+                    consumer.accept(toTableMeta((SQLCreateTableStatement) statement, dbType));
+                    count++;
                 }
             }
         } catch (Exception e) {
             System.err.println("批量解析失败 [" + dbType + "]: " + e.getMessage());
         }
-        return results;
+        return count;
+    }
+
+    /**
+     * 快速解析 Create Table 语句
+     * <p>
+     * 先使用轻量级解析器 {@link FastCreateTableParser} 处理常见子集 (列、类型精度、COMMENT、主键、PARTITIONED BY)，
+     * 不构建 Druid AST；遇到不认识的语法自动回退到 {@link #parseCreateTable(String, DbType)}，结果一致。
+     * 适用于脚本生成的大批量简单 DDL。
+     *
+     * @param ddl    DDL SQL 语句
+     * @param dbType 数据库类型
+     * @return TableMeta
+     */
+    public static TableMeta parseCreateTableFast(String ddl, DbType dbType) {
+        if (StringUtils.isEmpty(ddl)) return null;
+
+        TableMeta tableMeta = FastCreateTableParser.parse(ddl, dbType);
+        return tableMeta != null ? tableMeta : parseCreateTable(ddl, dbType);
+    }
+
+    /**
+     * 多段 DDL 快速流式解析：逐条语句尝试快速路径，无法识别的建表语句单独回退到 Druid
+     *
+     * @param sql      包含多段 DDL 的字符串
+     * @param dbType   数据库类型
+     * @param consumer 每张表解析完成后的回调
+     * @return 成功回调的表数量
+     */
+    public static int parseMultiCreateTableFast(String sql, DbType dbType, Consumer<TableMeta> consumer) {
+        if (StringUtils.isEmpty(sql)) return 0;
+        return FastCreateTableParser.parseMulti(sql, dbType, consumer);
+    }
+
+    /**
+     * 辅助：将建表语句转换为 TableMeta
+     */
+    private static TableMeta toTableMeta(SQLCreateTableStatement createTableStmt, DbType dbType) {
+        TableMeta tableMeta = new TableMeta();
+        tableMeta.setDbType(dbType.name());
+        tableMeta.setSchema(cleanName(createTableStmt.getSchema()));
+        tableMeta.setTableName(cleanName(createTableStmt.getTableName()));
+
+        // 解析普通列
+        // Druid 将列定义和约束（如主键约束）都放在 TableElementList 中
+        for (SQLTableElement element : createTableStmt.getTableElementList()) {
+            if (element instanceof SQLColumnDefinition) {
+                tableMeta.getColumns().add(extractColumnInfo((SQLColumnDefinition) element));
+            }
+        }
+
+        // 解析分区列
+        // 注意：只有支持类似 Hive/ODPS 语法 (PARTITIONED BY) 的数据库，此列表才会有值
+        // MySQL 的 Partition By Range 通常不被解析为 ColumnDefinition，而是 PartitionBy 子句，处理方式不同
+        List<SQLColumnDefinition> partitionColumns = createTableStmt.getPartitionColumns();
+        if (partitionColumns != null) {
+            for (SQLColumnDefinition partitionCol : partitionColumns) {
+                tableMeta.getPartitionColumns().add(extractColumnInfo(partitionCol));
+            }
+        }
+        return tableMeta;
     }
 
     /**
@@ -135,7 +176,7 @@ public class GenericDdlParserUtils {
             colComment = cleanQuote(columnDef.getComment().toString());
         }
 
-        // 简单判断是否为主键 (仅判断行内定义，未判断表级约束)
+        // 是否为主键 (Druid 会同时检查行内定义与表级 PRIMARY KEY 约束)
         boolean isPk = columnDef.isPrimaryKey();
 
         return new ColumnMeta(colName, colType, colComment, isPk);
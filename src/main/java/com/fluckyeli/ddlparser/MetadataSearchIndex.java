@@ -0,0 +1,462 @@
+package com.fluckyeli.ddlparser;
+
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 元数据全文检索：在内存中对表名、字段名与字段注释建立倒排索引
+ * <p>
+ * 分词规则：
+ * <ul>
+ *     <li>英文与数字按 snake_case、camelCase 拆分并转小写，如 userName / user_name -> user, name；</li>
+ *     <li>中日韩文字按二元组 (bigram) 切分，如 客户名称 -> 客户, 户名, 名称；查询单个汉字时匹配所有以该字开头的词条，
+ *     因此 户 可以命中 客户名称 中的任意位置；</li>
+ *     <li>每个词条记录 (文档, 位置)，支持词项、前缀、短语三种查询。</li>
+ * </ul>
+ * 每张表是一个文档 (表名 + schema)，每个字段 (含分区字段) 是一个文档 (字段名 + 注释)。
+ * 索引可以边解析边增量构建 (实现了 Consumer，可直接传给 {@link GenericDdlParserUtils#parseMultiCreateTable(String, com.alibaba.druid.DbType, Consumer)})，
+ * 构建与查询可并发进行。
+ *
+ * <pre>
+ * MetadataSearchIndex index = new MetadataSearchIndex();
+ * GenericDdlParserUtils.parseMultiCreateTable(sql, DbType.hive, index);
+ * index.search("\"客户名称\"", 20); // 短语
+ * index.search("cust*", 20);       // 前缀
+ * index.search("order amount", 20); // 所有词项都命中
+ * </pre>
+ */
+public class MetadataSearchIndex implements Consumer<TableMeta> {
+
+    /**
+     * 命中的字段
+     */
+    public enum Field {
+        TABLE_NAME, COLUMN_NAME, COMMENT
+    }
+
+    /**
+     * 位置的高位保存字段序号，使短语不会跨字段匹配
+     */
+    private static final int FIELD_SHIFT = 20;
+    private static final int TABLE_DOC = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> dictionary = new TreeMap<>();
+    private final List<TableMeta> tables = new ArrayList<>();
+    private final IntList docTables = new IntList();  // 文档 -> 表序号
+    private final IntList docColumns = new IntList(); // 文档 -> 字段序号 (分区字段排在普通字段之后)，表文档为 -1
+    private int columnCount;
+
+    @Override
+    public void accept(TableMeta tableMeta) {
+        add(tableMeta);
+    }
+
+    /**
+     * 把一张表加入索引
+     */
+    public void add(TableMeta tableMeta) {
+        lock.writeLock().lock();
+        try {
+            int tableIndex = tables.size();
+            tables.add(tableMeta);
+
+            int doc = newDoc(tableIndex, TABLE_DOC);
+            String tableName = tableMeta.getSchema() == null
+                    ? tableMeta.getTableName()
+                    : tableMeta.getSchema() + "." + tableMeta.getTableName();
+            tokenize(tableName, false, (term, position) -> index(term, doc, Field.TABLE_NAME, position));
+
+            List<ColumnMeta> columns = allColumns(tableMeta);
+            for (int i = 0; i < columns.size(); i++) {
+                ColumnMeta column = columns.get(i);
+                int columnDoc = newDoc(tableIndex, i);
+                tokenize(column.getName(), false, (term, position) -> index(term, columnDoc, Field.COLUMN_NAME, position));
+                tokenize(column.getComment(), false, (term, position) -> index(term, columnDoc, Field.COMMENT, position));
+            }
+            columnCount += columns.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getTableCount() {
+        lock.readLock().lock();
+        try {
+            return tables.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getColumnCount() {
+        lock.readLock().lock();
+        try {
+            return columnCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按查询语法检索：用双引号包裹为短语查询，以 * 结尾为前缀查询，其余为词项查询
+     *
+     * @param query 查询语句
+     * @param limit 最多返回的命中数
+     * @return 按加入顺序排列的命中列表
+     */
+    public List<Hit> search(String query, int limit) {
+        String text = query == null ? "" : query.trim();
+        if (text.length() >= 2 && text.startsWith("\"") && text.endsWith("\"")) {
+            return phrase(text.substring(1, text.length() - 1), limit);
+        }
+        if (text.endsWith("*")) {
+            return prefix(text.substring(0, text.length() - 1), limit);
+        }
+        return term(text, limit);
+    }
+
+    /**
+     * 词项查询：查询文本分词后的所有词条都出现在同一文档中 (不要求相邻)
+     * 单个中日韩文字按前缀匹配 (二元组中只有末字是单独的词条)
+     */
+    public List<Hit> term(String text, int limit) {
+        List<String> terms = queryTerms(text);
+        if (terms.isEmpty()) return Collections.emptyList();
+
+        lock.readLock().lock();
+        try {
+            List<Postings> matched = new ArrayList<>();
+            BitSet docs = null;
+            for (String term : terms) {
+                docs = and(docs, termDocs(term, matched));
+            }
+            return collect(docs, matched, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 前缀查询：最后一个词条按前缀匹配，之前的词条按词项匹配，适合输入联想
+     */
+    public List<Hit> prefix(String text, int limit) {
+        List<String> terms = queryTerms(text);
+        if (terms.isEmpty()) return Collections.emptyList();
+        String prefix = terms.get(terms.size() - 1);
+
+        lock.readLock().lock();
+        try {
+            List<Postings> matched = new ArrayList<>();
+            BitSet docs = null;
+            for (String term : terms.subList(0, terms.size() - 1)) {
+                docs = and(docs, termDocs(term, matched));
+            }
+            return collect(and(docs, prefixDocs(prefix, matched)), matched, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 短语查询：查询文本分词后的词条在同一字段中按顺序相邻出现
+     */
+    public List<Hit> phrase(String text, int limit) {
+        List<String> terms = queryTerms(text);
+        if (terms.isEmpty()) return Collections.emptyList();
+        if (terms.size() == 1) return term(text, limit);
+
+        lock.readLock().lock();
+        try {
+            Postings[] postings = new Postings[terms.size()];
+            BitSet docs = null;
+            for (int i = 0; i < postings.length; i++) {
+                postings[i] = dictionary.get(terms.get(i));
+                docs = and(docs, docsOf(postings[i]));
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            for (int doc = docs.nextSetBit(0); doc >= 0 && hits.size() < limit; doc = docs.nextSetBit(doc + 1)) {
+                int position = phraseStart(postings, doc);
+                if (position >= 0) hits.add(hit(doc, position));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- 索引构建 ---
+
+    private int newDoc(int tableIndex, int columnIndex) {
+        docTables.add(tableIndex);
+        docColumns.add(columnIndex);
+        return docTables.size() - 1;
+    }
+
+    private void index(String term, int doc, Field field, int position) {
+        dictionary.computeIfAbsent(term, k -> new Postings()).add(doc, field.ordinal() << FIELD_SHIFT | position);
+    }
+
+    private static List<ColumnMeta> allColumns(TableMeta tableMeta) {
+        List<ColumnMeta> columns = new ArrayList<>(tableMeta.getColumns());
+        if (tableMeta.getPartitionColumns() != null) columns.addAll(tableMeta.getPartitionColumns());
+        return columns;
+    }
+
+    // --- 查询辅助 ---
+
+    /**
+     * 词项匹配的文档；单个中日韩文字按前缀匹配
+     *
+     * @param matched 命中的倒排列表追加到此列表
+     */
+    private BitSet termDocs(String term, List<Postings> matched) {
+        if (term.length() == 1 && isCjk(term.charAt(0))) return prefixDocs(term, matched);
+        Postings postings = dictionary.get(term);
+        if (postings != null) matched.add(postings);
+        return docsOf(postings);
+    }
+
+    private BitSet prefixDocs(String prefix, List<Postings> matched) {
+        BitSet docs = new BitSet();
+        for (Postings postings : dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            matched.add(postings);
+            docs.or(docsOf(postings));
+        }
+        return docs;
+    }
+
+    private static List<String> queryTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, true, (term, position) -> terms.add(term));
+        return terms;
+    }
+
+    private static BitSet docsOf(Postings postings) {
+        BitSet docs = new BitSet();
+        if (postings == null) return docs;
+        for (int i = 0; i < postings.size; i += 2) {
+            docs.set(postings.data[i]);
+        }
+        return docs;
+    }
+
+    private static BitSet and(BitSet docs, BitSet other) {
+        if (docs == null) return other;
+        docs.and(other);
+        return docs;
+    }
+
+    /**
+     * @param matched 参与匹配的倒排列表，用于确定命中的字段
+     */
+    private List<Hit> collect(BitSet docs, List<Postings> matched, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        for (int doc = docs.nextSetBit(0); doc >= 0 && hits.size() < limit; doc = docs.nextSetBit(doc + 1)) {
+            int position = 0;
+            for (Postings postings : matched) {
+                int from = postings.firstIndexOf(doc);
+                if (from >= 0) {
+                    position = postings.data[from + 1];
+                    break;
+                }
+            }
+            hits.add(hit(doc, position));
+        }
+        return hits;
+    }
+
+    /**
+     * 查找短语在文档中的起始位置
+     *
+     * @return 不存在时返回 -1
+     */
+    private static int phraseStart(Postings[] postings, int doc) {
+        int from = postings[0].firstIndexOf(doc);
+        for (int i = from; i >= 0 && i < postings[0].size && postings[0].data[i] == doc; i += 2) {
+            int start = postings[0].data[i + 1];
+            boolean matched = true;
+            for (int k = 1; k < postings.length && matched; k++) {
+                matched = postings[k].contains(doc, start + k);
+            }
+            if (matched) return start;
+        }
+        return -1;
+    }
+
+    private Hit hit(int doc, int position) {
+        TableMeta table = tables.get(docTables.get(doc));
+        int columnIndex = docColumns.get(doc);
+        ColumnMeta column = null;
+        if (columnIndex != TABLE_DOC) {
+            int size = table.getColumns().size();
+            column = columnIndex < size ? table.getColumns().get(columnIndex) : table.getPartitionColumns().get(columnIndex - size);
+        }
+        return new Hit(table, column, Field.values()[position >>> FIELD_SHIFT]);
+    }
+
+    // --- 分词 ---
+
+    /**
+     * 分词：英文数字按 snake_case / camelCase 拆分，中日韩文字切分为二元组
+     *
+     * @param query 查询模式下，长度大于 1 的中日韩文字串不输出末字的单字词条
+     */
+    static void tokenize(String text, boolean query, TermSink sink) {
+        if (text == null) return;
+        int length = text.length();
+        int i = 0;
+        int position = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isCjk(c)) {
+                int end = i;
+                while (end < length && isCjk(text.charAt(end))) end++;
+                position = emitCjk(text, i, end, query, position, sink);
+                i = end;
+            } else if (Character.isLetterOrDigit(c)) {
+                int end = i;
+                while (end < length && Character.isLetterOrDigit(text.charAt(end)) && !isCjk(text.charAt(end))) end++;
+                position = emitWord(text, i, end, position, sink);
+                i = end;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * 二元组切分，末字额外作为单字词条 (与最后一个二元组同位置)；单字查询按前缀匹配，
+     * 其它位置的字是某个二元组的首字，末字由该单字词条覆盖，因此任意位置的字都能命中
+     *
+     * @return 下一个词条的位置
+     */
+    private static int emitCjk(String text, int start, int end, boolean query, int position, TermSink sink) {
+        if (end - start == 1) {
+            sink.accept(text.substring(start, end), position);
+            return position + 1;
+        }
+        for (int i = start; i < end - 1; i++) {
+            sink.accept(text.substring(i, i + 2), position++);
+        }
+        if (!query) sink.accept(text.substring(end - 1, end), position - 1);
+        return position;
+    }
+
+    /**
+     * camelCase 拆分：小写/数字后接大写处断开，连续大写在最后一个大写 (其后接小写) 前断开，如 HTTPServer -> http, server
+     */
+    private static int emitWord(String text, int start, int end, int position, TermSink sink) {
+        int wordStart = start;
+        for (int i = start + 1; i < end; i++) {
+            char previous = text.charAt(i - 1);
+            char current = text.charAt(i);
+            boolean boundary = Character.isUpperCase(current) && !Character.isUpperCase(previous)
+                    || Character.isUpperCase(previous) && Character.isUpperCase(current)
+                    && i + 1 < end && Character.isLowerCase(text.charAt(i + 1));
+            if (boundary) {
+                sink.accept(text.substring(wordStart, i).toLowerCase(Locale.ROOT), position++);
+                wordStart = i;
+            }
+        }
+        sink.accept(text.substring(wordStart, end).toLowerCase(Locale.ROOT), position++);
+        return position;
+    }
+
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    @FunctionalInterface
+    interface TermSink {
+        void accept(String term, int position);
+    }
+
+    /**
+     * 检索命中
+     */
+    @Getter
+    public static class Hit {
+        private final TableMeta table;
+        /**
+         * 命中的字段；命中表名时为 null
+         */
+        private final ColumnMeta column;
+        private final Field field;
+
+        Hit(TableMeta table, ColumnMeta column, Field field) {
+            this.table = table;
+            this.column = column;
+            this.field = field;
+        }
+
+        @Override
+        public String toString() {
+            String name = table.getSchema() == null ? table.getTableName() : table.getSchema() + "." + table.getTableName();
+            return column == null ? name : name + "." + column.getName();
+        }
+    }
+
+    /**
+     * 倒排列表：按 (文档, 位置) 成对存放；文档按加入顺序递增，可二分查找
+     */
+    private static class Postings {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int doc, int position) {
+            if (size + 2 > data.length) data = Arrays.copyOf(data, data.length * 2);
+            data[size++] = doc;
+            data[size++] = position;
+        }
+
+        /**
+         * @return 文档第一个 (文档, 位置) 对的下标，不存在时返回 -1
+         */
+        int firstIndexOf(int doc) {
+            int low = 0;
+            int high = size / 2 - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (data[mid * 2] < doc) low = mid + 1;
+                else high = mid - 1;
+            }
+            return low * 2 < size && data[low * 2] == doc ? low * 2 : -1;
+        }
+
+        boolean contains(int doc, int position) {
+            int from = firstIndexOf(doc);
+            for (int i = from; i >= 0 && i < size && data[i] == doc; i += 2) {
+                if (data[i + 1] == position) return true;
+            }
+            return false;
+        }
+    }
+
+    private static class IntList {
+        private int[] data = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        int get(int index) {
+            return data[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
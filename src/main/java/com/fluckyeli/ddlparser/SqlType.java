@@ -0,0 +1,125 @@
+package com.fluckyeli.ddlparser;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 与方言无关的规范化字段类型：基础类型 + 长度 / 精度 / 标度
+ * <p>
+ * 由 {@link DdlTranslator} 将 ColumnMeta.type 这类原始类型字符串 (如 "NUMBER(6, 0)"、"varchar(64)") 解析一次得到，
+ * 再按目标方言输出。不可变对象，可在线程间共享。
+ */
+@Getter
+public class SqlType {
+
+    /**
+     * 规范化的基础类型
+     */
+    public enum BaseType {
+        TINYINT, SMALLINT, INT, BIGINT,
+        DECIMAL, FLOAT, DOUBLE,
+        BOOLEAN,
+        CHAR, VARCHAR, TEXT,
+        DATE, TIME, DATETIME,
+        BINARY, JSON,
+        /**
+         * 无法识别的类型 (如 MAP&lt;STRING, INT&gt;)，输出时原样保留
+         */
+        OTHER
+    }
+
+    private final BaseType baseType;
+    private final Integer length;    // CHAR / VARCHAR 的长度
+    private final Integer precision; // DECIMAL 的精度，或 DATETIME / TIME 的秒精度
+    private final Integer scale;     // DECIMAL 的标度
+    private final String raw;        // 原始类型字符串
+
+    public SqlType(BaseType baseType, Integer length, Integer precision, Integer scale, String raw) {
+        this.baseType = baseType;
+        this.length = length;
+        this.precision = precision;
+        this.scale = scale;
+        this.raw = raw;
+    }
+
+    /**
+     * 原始类型字符串拆分后的各部分，例如 "TIMESTAMP(6) WITH TIME ZONE" -> name=timestamp, args=[6], suffix=with time zone
+     */
+    static class Parts {
+        final String name;         // 小写，多个单词以单个空格分隔
+        final List<Integer> args;  // 括号内的数字参数，"*" 等非数字为 null
+        final String suffix;       // 括号之后的部分，小写
+        final boolean complex;     // 含有 &lt;&gt; 的嵌套类型
+        final boolean unsigned;    // MySQL 的 UNSIGNED / ZEROFILL 修饰 (已从 name、suffix 中去除)
+
+        private Parts(String name, List<Integer> args, String suffix, boolean complex, boolean unsigned) {
+            this.name = name;
+            this.args = args;
+            this.suffix = suffix;
+            this.complex = complex;
+            this.unsigned = unsigned;
+        }
+
+        Integer arg(int index) {
+            return index < args.size() ? args.get(index) : null;
+        }
+
+        static Parts of(String rawType) {
+            String type = rawType.trim();
+            if (type.indexOf('<') >= 0) {
+                return new Parts(type.toLowerCase(Locale.ROOT), new ArrayList<>(), "", true, false);
+            }
+
+            int open = type.indexOf('(');
+            int close = open < 0 ? -1 : type.indexOf(')', open);
+            String name = open < 0 ? type : type.substring(0, open);
+            String suffix = close < 0 ? "" : type.substring(close + 1);
+
+            List<Integer> args = new ArrayList<>(2);
+            if (open >= 0 && close > open) {
+                for (String arg : type.substring(open + 1, close).split(",")) {
+                    args.add(leadingInt(arg.trim())); // 兼容 VARCHAR2(20 BYTE)
+                }
+            }
+            // 修饰符可以在括号前 (int unsigned) 或括号后 (int(10) unsigned zerofill)，ZEROFILL 隐含 UNSIGNED
+            String normalizedName = normalize(name);
+            String normalizedSuffix = normalize(suffix);
+            boolean unsigned = hasModifier(normalizedName, "unsigned") || hasModifier(normalizedSuffix, "unsigned")
+                    || hasModifier(normalizedName, "zerofill") || hasModifier(normalizedSuffix, "zerofill");
+            return new Parts(stripModifiers(normalizedName), args, stripModifiers(normalizedSuffix), false, unsigned);
+        }
+
+        private static String normalize(String text) {
+            return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+
+        private static boolean hasModifier(String text, String modifier) {
+            return (" " + text + " ").contains(" " + modifier + " ");
+        }
+
+        private static String stripModifiers(String text) {
+            return text.replaceAll("(^| )(unsigned|signed|zerofill)(?= |$)", "").trim();
+        }
+
+        private static Integer leadingInt(String text) {
+            int end = 0;
+            while (end < text.length() && Character.isDigit(text.charAt(end))) end++;
+            return end == 0 ? null : Integer.valueOf(text.substring(0, end));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(baseType.name());
+        if (length != null) sb.append("(").append(length).append(")");
+        if (precision != null) {
+            sb.append("(").append(precision);
+            if (scale != null) sb.append(", ").append(scale);
+            sb.append(")");
+        }
+        return sb.toString();
+    }
+}
@@ -9,6 +9,7 @@ import java.util.List;
 @Setter
 @Getter
 public class TableMeta {
+    private String schema; // 库/模式名，DDL 中未指定时为 null
     private String tableName;
     private String dbType; // 记录解析时的数据库类型
     private List<ColumnMeta> columns = new ArrayList<>();
@@ -0,0 +1,29 @@
+package com.fluckyeli.ddlparser.useDemo;
+
+import com.alibaba.druid.DbType;
+import com.fluckyeli.ddlparser.DataDictionaryExporter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * 演示：多段 DDL 边解析边导出为数据字典 Excel
+ */
+public class DataDictionaryExportDemo {
+    public static void main(String[] args) {
+        String multiSql =
+                "CREATE TABLE ods.t_user (id BIGINT COMMENT '用户ID', phone STRING COMMENT '手机号') PARTITIONED BY (dt STRING); " +
+                        "CREATE TABLE ods.t_order (id BIGINT COMMENT '订单ID', amount DECIMAL(10,2) COMMENT '金额'); " +
+                        "CREATE TABLE dim_region (code STRING COMMENT '区域编码', name STRING COMMENT '区域名称');";
+
+        File outputFile = new File(args.length > 0 ? args[0] : "assets/data_dictionary.xlsx");
+        try (FileOutputStream out = new FileOutputStream(outputFile)) {
+            int count = DataDictionaryExporter.export(multiSql, DbType.odps, out);
+            System.out.println("✅ 导出成功，共 " + count + " 张表: " + outputFile.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("数据字典导出失败！");
+            e.printStackTrace();
+        }
+    }
+}
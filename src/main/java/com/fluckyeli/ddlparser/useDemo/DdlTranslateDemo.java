@@ -0,0 +1,29 @@
+package com.fluckyeli.ddlparser.useDemo;
+
+import com.alibaba.druid.DbType;
+import com.fluckyeli.ddlparser.DdlTranslator;
+import com.fluckyeli.ddlparser.GenericDdlParserUtils;
+import com.fluckyeli.ddlparser.TableMeta;
+
+import java.util.List;
+
+/**
+ * 演示：把 Oracle 建表语句批量翻译为 Hive / MySQL 建表语句
+ */
+public class DdlTranslateDemo {
+    public static void main(String[] args) {
+        String multiSql =
+                "CREATE TABLE hr.emp (id NUMBER(10, 0) PRIMARY KEY, name VARCHAR2(64 BYTE), salary NUMBER(12, 2), hire_date DATE); " +
+                        "CREATE TABLE hr.dept (dept_no NUMBER(4), dept_name NVARCHAR2(100), remark CLOB);";
+
+        List<TableMeta> tables = GenericDdlParserUtils.parseMultiCreateTable(multiSql, DbType.oracle);
+
+        for (String ddl : DdlTranslator.toCreateTables(tables, DbType.hive)) {
+            System.out.println(ddl);
+        }
+        System.out.println("------------------------------");
+        for (String ddl : DdlTranslator.toCreateTables(tables, DbType.mysql)) {
+            System.out.println(ddl);
+        }
+    }
+}
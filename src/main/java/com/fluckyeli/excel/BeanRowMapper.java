@@ -0,0 +1,83 @@
+package com.fluckyeli.excel;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 将流式读取得到的一行文本映射为 Bean (按 @ExcelColumn 匹配表头)
+ * <p>
+ * 供不构建 Workbook 的读取方式使用，映射规则与 {@link ExcelUtils#parse} 相同，包括字符串去重字典。
+ * 非线程安全。
+ */
+class BeanRowMapper<T> {
+
+    private final Class<T> clazz;
+    private final List<Field> fields = new ArrayList<>();
+    private final List<Integer> columnIndexes = new ArrayList<>();
+    private final List<StringDictionary> dictionaries = new ArrayList<>();
+    private final BitSet mappedColumns = new BitSet();
+
+    /**
+     * @param clazz  映射的 Bean 类
+     * @param header 表头行的单元格文本
+     */
+    BeanRowMapper(Class<T> clazz, String[] header) {
+        this.clazz = clazz;
+
+        Map<String, Integer> headerMap = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            if (header[i] != null) headerMap.put(header[i].trim(), i);
+        }
+
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.isAnnotationPresent(ExcelColumn.class)) {
+                ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
+                Integer index = headerMap.get(annotation.value());
+                if (index != null) {
+                    field.setAccessible(true); // 允许访问私有字段
+                    fields.add(field);
+                    columnIndexes.add(index);
+                    mappedColumns.set(index);
+                    dictionaries.add(field.getType() == String.class ? StringDictionary.of(annotation.dictionary()) : null);
+                }
+            }
+        }
+    }
+
+    /**
+     * 该列是否映射到了字段 (可作为读取器的列过滤器，只解析需要的列)
+     */
+    boolean isMapped(int column) {
+        return mappedColumns.get(column);
+    }
+
+    /**
+     * @param values        单元格文本
+     * @param numericValues 数值单元格的原始值 (见 {@link ExcelStreamReader.RawRowHandler})，数字字段优先使用
+     * @return 所有映射列都为空时返回 null
+     */
+    T map(String[] values, String[] numericValues) throws ReflectiveOperationException {
+        T instance = null;
+        for (int i = 0; i < fields.size(); i++) {
+            int col = columnIndexes.get(i);
+            if (col >= values.length || values[col] == null) continue;
+
+            Field field = fields.get(i);
+            String numeric = col < numericValues.length ? numericValues[col] : null;
+            Object value = ExcelUtils.convertTextValue(values[col], numeric, field.getType());
+            StringDictionary dictionary = dictionaries.get(i);
+            if (dictionary != null) {
+                value = dictionary.canonicalize((String) value);
+            }
+            if (value != null) {
+                if (instance == null) instance = clazz.getDeclaredConstructor().newInstance();
+                field.set(instance, value);
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,226 @@
+package com.fluckyeli.excel;
+
+/**
+ * 单列的类型统计：每个值归入一个类型，再在类型格上取上界，内存占用与行数无关
+ * <p>
+ * 类型格：INT &lt; BIGINT &lt; DECIMAL &lt; DOUBLE，DATE &lt; DATETIME，数值与日期混合或出现其它文本则为 VARCHAR。
+ * 同时记录整数位数、小数位数与最大长度，用于确定 DECIMAL 的精度/标度与 VARCHAR 的长度；
+ * 整数部分超过 38 位的数值列为 VARCHAR，整数与小数位数合计超过 38 位时减少标度 (多余的小数位由数据库舍入)。
+ * 数值与日期文本的识别范围与 {@link ExcelTableLoader} 的绑定规则一致：数值可以带千分位 (1,234.5)，
+ * 日期可以是 yyyy-MM-dd、yyyy/MM/dd，时间部分以空格或 T 分隔。
+ * 非线程安全，并行时各线程分别统计后 {@link #merge}。
+ */
+class ColumnTypeStats {
+
+    enum Kind {
+        EMPTY, INT, BIGINT, DECIMAL, DOUBLE, DATE, DATETIME, VARCHAR;
+
+        boolean isNumeric() {
+            return this == INT || this == BIGINT || this == DECIMAL || this == DOUBLE;
+        }
+
+        boolean isTemporal() {
+            return this == DATE || this == DATETIME;
+        }
+
+        Kind join(Kind other) {
+            if (this == other || other == EMPTY) return this;
+            if (this == EMPTY) return other;
+            if (isNumeric() && other.isNumeric() || isTemporal() && other.isTemporal()) {
+                return ordinal() > other.ordinal() ? this : other;
+            }
+            return VARCHAR;
+        }
+    }
+
+    /**
+     * 任何数据库都能接受的 DECIMAL 最大精度
+     */
+    private static final int MAX_DECIMAL_PRECISION = 38;
+    /**
+     * 整列都为空时使用的 VARCHAR 长度
+     */
+    private static final int DEFAULT_VARCHAR_LENGTH = 255;
+
+    private Kind kind = Kind.EMPTY;
+    private int maxIntDigits;
+    private int maxScale;
+    private int maxLength;
+    private long nonNullCount;
+    private long nullCount;
+
+    // 最近一次 classify 的附带结果
+    private int intDigits;
+    private int scale;
+
+    void accept(String value) {
+        if (value == null || (value = value.trim()).isEmpty()) {
+            nullCount++;
+            return;
+        }
+        nonNullCount++;
+        if (value.length() > maxLength) maxLength = value.length();
+        if (kind == Kind.VARCHAR) return; // 已到格顶，无需再分类
+
+        Kind valueKind = classify(value);
+        if (valueKind.isNumeric()) {
+            if (intDigits > maxIntDigits) maxIntDigits = intDigits;
+            if (scale > maxScale) maxScale = scale;
+        }
+        kind = kind.join(valueKind);
+    }
+
+    /**
+     * 按单元格分类：数值单元格使用原始值 (不受 0、0.00%、货币等显示格式影响)，
+     * 日期单元格 (显示文本为日期) 与文本单元格使用显示文本
+     *
+     * @param text    显示文本
+     * @param numeric 数值单元格的原始值，非数值单元格为 null
+     */
+    void accept(String text, String numeric) {
+        if (numeric == null || text != null && !text.trim().isEmpty() && classifyDate(text.trim()) != null) {
+            accept(text);
+        } else {
+            accept(numeric);
+        }
+    }
+
+    void merge(ColumnTypeStats other) {
+        kind = kind.join(other.kind);
+        maxIntDigits = Math.max(maxIntDigits, other.maxIntDigits);
+        maxScale = Math.max(maxScale, other.maxScale);
+        maxLength = Math.max(maxLength, other.maxLength);
+        nonNullCount += other.nonNullCount;
+        nullCount += other.nullCount;
+    }
+
+    long getNonNullCount() {
+        return nonNullCount;
+    }
+
+    long getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * @return 通用类型名 (INT, BIGINT, DECIMAL(p, s), DOUBLE, DATE, DATETIME, VARCHAR(n))，可由
+     * {@link com.fluckyeli.ddlparser.DdlTranslator} 翻译为各方言
+     */
+    String toSqlType() {
+        switch (kind) {
+            case INT:
+                return "INT";
+            case BIGINT:
+                return "BIGINT";
+            case DECIMAL:
+                if (maxIntDigits > MAX_DECIMAL_PRECISION) return "VARCHAR(" + maxLength + ")"; // 任何 DECIMAL 都放不下
+                int precision = Math.min(MAX_DECIMAL_PRECISION, Math.max(1, maxIntDigits + maxScale));
+                int decimalScale = Math.max(0, Math.min(maxScale, precision - maxIntDigits));
+                return "DECIMAL(" + precision + ", " + decimalScale + ")";
+            case DOUBLE:
+                return "DOUBLE";
+            case DATE:
+                return "DATE";
+            case DATETIME:
+                return "DATETIME";
+            case VARCHAR:
+                return "VARCHAR(" + maxLength + ")";
+            default:
+                return "VARCHAR(" + DEFAULT_VARCHAR_LENGTH + ")";
+        }
+    }
+
+    // --- 值分类 (逐字符扫描，不使用正则) ---
+
+    private Kind classify(String value) {
+        Kind numeric = classifyNumber(value);
+        if (numeric != null) return numeric;
+        Kind temporal = classifyDate(value);
+        return temporal != null ? temporal : Kind.VARCHAR;
+    }
+
+    /**
+     * 识别 -123 / 123.45 / 1,234,567.8 / 1.2E+10；前导零的编号 (如 00123) 视为文本；
+     * 千分位必须每 3 位一组 (1,23 不是数值)
+     */
+    private Kind classifyNumber(String value) {
+        int length = value.length();
+        int i = value.charAt(0) == '-' ? 1 : 0;
+        int intStart = i;
+        int digits = 0;
+        int group = -1; // 最后一个千分位之后的位数，-1 表示没有千分位
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (isDigit(c)) {
+                digits++;
+                if (group >= 0) group++;
+            } else if (c == ',') {
+                boolean validGroup = group < 0 ? digits >= 1 && digits <= 3 : group == 3;
+                if (!validGroup) return null;
+                group = 0;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0 || group >= 0 && group != 3) return null;
+        if (digits > 1 && value.charAt(intStart) == '0') return null;
+
+        int fraction = 0;
+        if (i < length && value.charAt(i) == '.') {
+            int fractionStart = ++i;
+            while (i < length && isDigit(value.charAt(i))) i++;
+            fraction = i - fractionStart;
+            if (fraction == 0) return null;
+        }
+
+        if (i < length && (value.charAt(i) == 'E' || value.charAt(i) == 'e')) {
+            i++;
+            if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) i++;
+            int exponentStart = i;
+            while (i < length && isDigit(value.charAt(i))) i++;
+            if (i == exponentStart || i != length) return null;
+            intDigits = 0;
+            scale = 0;
+            return Kind.DOUBLE;
+        }
+        if (i != length) return null;
+
+        intDigits = digits;
+        scale = fraction;
+        if (fraction > 0 || digits > 18) return Kind.DECIMAL;
+        return digits <= 9 ? Kind.INT : Kind.BIGINT;
+    }
+
+    /**
+     * 识别 yyyy-MM-dd、yyyy/MM/dd 与 yyyy-MM-dd HH:mm:ss / yyyy-MM-ddTHH:mm:ss (读取器以 ISO 格式输出日期单元格，
+     * 其余为文本单元格中常见的写法，{@link ExcelTableLoader#parseTimestamp} 均可解析)；时间为 00:00:00 时视为日期
+     */
+    private static Kind classifyDate(String value) {
+        int length = value.length();
+        if (length != 10 && length != 19) return null;
+        char separator = value.charAt(4);
+        if (separator != '-' && separator != '/' || value.charAt(7) != separator) return null;
+        if (!digits(value, 0, 4) || !digits(value, 5, 7) || !digits(value, 8, 10)) return null;
+        int month = (value.charAt(5) - '0') * 10 + (value.charAt(6) - '0');
+        int day = (value.charAt(8) - '0') * 10 + (value.charAt(9) - '0');
+        if (month < 1 || month > 12 || day < 1 || day > 31) return null;
+        if (length == 10) return Kind.DATE;
+
+        char dateTimeSeparator = value.charAt(10);
+        if (dateTimeSeparator != ' ' && dateTimeSeparator != 'T') return null;
+        if (value.charAt(13) != ':' || value.charAt(16) != ':') return null;
+        if (!digits(value, 11, 13) || !digits(value, 14, 16) || !digits(value, 17, 19)) return null;
+        return value.endsWith("00:00:00") ? Kind.DATE : Kind.DATETIME;
+    }
+
+    private static boolean digits(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(value.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,128 @@
+package com.fluckyeli.excel;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+/**
+ * 断点续传的检查点：以 properties 格式保存在本地文件中
+ * <p>
+ * 除已提交的行号与批次序号外，还保存行偏移索引的一个索引项 (及文档开头)，
+ * 重启后借助 {@link RowOffsetIndex} 直接跳到断点附近，不必重新解析前面的行。
+ */
+class ExcelCheckpoint {
+
+    /**
+     * 计算指纹时读取文件首尾各多少字节
+     */
+    private static final int FINGERPRINT_SAMPLE_SIZE = 1024 * 1024;
+
+    String fingerprint;
+    int lastRow = -1;       // 最后一个已提交批次的最后一行 (0-based)
+    long batchSeq = 0;      // 最后一个已提交批次的序号 (从 1 开始)
+    int seekRow = -1;       // 可跳转的行号
+    long seekOffset = -1;   // seekRow 在解压后 sheet XML 中的字节偏移
+    byte[] prefix;          // sheet XML 文档开头
+    String[] header;        // 表头 (第 0 行)
+    boolean finished;
+
+    /**
+     * @return 文件不存在时返回 null
+     */
+    static ExcelCheckpoint load(File file) {
+        if (!file.exists()) return null;
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file.toPath())) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取检查点失败: " + file, e);
+        }
+
+        ExcelCheckpoint checkpoint = new ExcelCheckpoint();
+        checkpoint.fingerprint = properties.getProperty("fingerprint");
+        checkpoint.lastRow = Integer.parseInt(properties.getProperty("lastRow", "-1"));
+        checkpoint.batchSeq = Long.parseLong(properties.getProperty("batchSeq", "0"));
+        checkpoint.seekRow = Integer.parseInt(properties.getProperty("seekRow", "-1"));
+        checkpoint.seekOffset = Long.parseLong(properties.getProperty("seekOffset", "-1"));
+        checkpoint.finished = Boolean.parseBoolean(properties.getProperty("finished", "false"));
+        String prefix = properties.getProperty("prefix");
+        if (prefix != null) checkpoint.prefix = Base64.getDecoder().decode(prefix);
+
+        int headerSize = Integer.parseInt(properties.getProperty("header.size", "-1"));
+        if (headerSize >= 0) {
+            checkpoint.header = new String[headerSize];
+            for (int i = 0; i < headerSize; i++) {
+                checkpoint.header[i] = properties.getProperty("header." + i);
+            }
+        }
+        return checkpoint;
+    }
+
+    /**
+     * 先写临时文件再原子替换，进程在写入过程中退出也不会留下损坏的检查点
+     */
+    void save(File file) {
+        Properties properties = new Properties();
+        properties.setProperty("fingerprint", fingerprint);
+        properties.setProperty("lastRow", String.valueOf(lastRow));
+        properties.setProperty("batchSeq", String.valueOf(batchSeq));
+        properties.setProperty("finished", String.valueOf(finished));
+        if (seekOffset >= 0 && prefix != null) {
+            properties.setProperty("seekRow", String.valueOf(seekRow));
+            properties.setProperty("seekOffset", String.valueOf(seekOffset));
+            properties.setProperty("prefix", Base64.getEncoder().encodeToString(prefix));
+        }
+        if (header != null) {
+            properties.setProperty("header.size", String.valueOf(header.length));
+            for (int i = 0; i < header.length; i++) {
+                if (header[i] != null) properties.setProperty("header." + i, header[i]);
+            }
+        }
+
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, "excel import checkpoint");
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("保存检查点失败: " + file, e);
+        }
+    }
+
+    void seekTo(Map.Entry<Integer, Long> entry, byte[] documentPrefix) {
+        if (entry == null || documentPrefix == null) return;
+        seekRow = entry.getKey();
+        seekOffset = entry.getValue();
+        prefix = documentPrefix;
+    }
+
+    /**
+     * 源文件指纹：文件长度 + 首尾各 1MB 内容的 CRC32 (不依赖修改时间，文件被复制后仍然一致)
+     */
+    static String fingerprint(File file) {
+        long length = file.length();
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[FINGERPRINT_SAMPLE_SIZE];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            int head = (int) Math.min(length, FINGERPRINT_SAMPLE_SIZE);
+            raf.readFully(buffer, 0, head);
+            crc.update(buffer, 0, head);
+
+            long tailStart = Math.max(head, length - FINGERPRINT_SAMPLE_SIZE);
+            int tail = (int) (length - tailStart);
+            raf.seek(tailStart);
+            raf.readFully(buffer, 0, tail);
+            crc.update(buffer, 0, tail);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取源文件失败: " + file, e);
+        }
+        return length + "-" + Long.toHexString(crc.getValue());
+    }
+}
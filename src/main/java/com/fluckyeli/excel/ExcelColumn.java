@@ -9,4 +9,26 @@ public @interface ExcelColumn {
      * Excel中的表头名称
      */
     String value();
-}
\ No newline at end of file
+
+    /**
+     * 字符串去重字典 (仅对 String 字段生效)
+     * 类别、地区、状态等取值很少的列开启后，相同内容的单元格共享同一个 String 实例，
+     * 解析结果需要长期缓存时可显著降低堆占用
+     */
+    Dictionary dictionary() default Dictionary.NONE;
+
+    enum Dictionary {
+        /**
+         * 不去重，每个单元格生成独立的 String (默认)
+         */
+        NONE,
+        /**
+         * 始终去重，不同取值超过上限后自动停用
+         */
+        ALWAYS,
+        /**
+         * 先采样前若干行，重复率足够高时才去重
+         */
+        AUTO
+    }
+}
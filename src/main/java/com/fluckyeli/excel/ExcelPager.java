@@ -0,0 +1,101 @@
+package com.fluckyeli.excel;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Excel 分页预览工具：每个上传文件对应一个实例，按行区间读取一页数据
+ * <p>
+ * 与 {@link ExcelUtils#parse} 相比：
+ * <ul>
+ *     <li>基于 {@link ExcelStreamReader}，只解压、解析到本页最后一行即停止，不加载整个 Workbook；</li>
+ *     <li>读取过程中顺带建立行偏移索引，后续翻页直接跳到目标行附近，不再解析前面的行；</li>
+ *     <li>以实际行号判断结束，稀疏 Sheet (中间有空行) 也能正确分页。</li>
+ * </ul>
+ * 实例可缓存在会话中复用 (线程安全)，索引只占用 行数 / indexStride 个条目。仅支持 .xlsx。
+ *
+ * <pre>
+ * ExcelPager pager = new ExcelPager(uploadedFile);
+ * List&lt;Product&gt; firstPage = pager.page(Product.class, 1, 51);
+ * List&lt;Product&gt; secondPage = pager.page(Product.class, 51, 101);
+ * </pre>
+ */
+public class ExcelPager {
+
+    private final File file;
+    private final RowOffsetIndex index;
+    private volatile String[] header; // 第 0 行 (表头)，首次读到时缓存
+
+    public ExcelPager(File file) {
+        this(file, RowOffsetIndex.DEFAULT_STRIDE);
+    }
+
+    /**
+     * @param file        xlsx 文件
+     * @param indexStride 每隔多少行记录一个索引项，越小跳转越精确，占用内存越多
+     */
+    public ExcelPager(File file, int indexStride) {
+        this.file = file;
+        this.index = new RowOffsetIndex(indexStride);
+    }
+
+    /**
+     * 读取一页原始文本 (Excel 中的显示格式)
+     *
+     * @param startRow 起始行（0-based，包含）
+     * @param endRow   结束行（不包含）
+     * @return 行号位于 [startRow, endRow) 的行，按列索引存放单元格文本；不存在的行不返回
+     */
+    public List<String[]> rows(int startRow, int endRow) {
+        List<String[]> rows = new ArrayList<>();
+        read(new ExcelStreamReader(), startRow, endRow, (rowNum, values, numericValues) -> rows.add(values));
+        return rows;
+    }
+
+    /**
+     * 读取一页数据并映射为 Bean (表头取第 0 行，规则与 {@link ExcelUtils#parse} 相同)
+     *
+     * @param clazz    映射的 Bean 类
+     * @param startRow 起始行（0-based，包含，数据从第1行开始则填1）
+     * @param endRow   结束行（不包含）
+     * @param <T>      泛型
+     * @return 本页解析后的对象列表
+     */
+    public <T> List<T> page(Class<T> clazz, int startRow, int endRow) {
+        if (header == null) {
+            rows(0, 1); // 只读表头，读完第一行即停止
+        }
+
+        List<T> resultList = new ArrayList<>();
+        ExcelStreamReader reader = new ExcelStreamReader();
+        reader.setIsoDateFormat(true); // 便于转换为 Date 字段
+
+        BeanRowMapper<T> mapper = new BeanRowMapper<>(clazz, header == null ? new String[0] : header);
+        read(reader, startRow, endRow, (rowNum, values, numericValues) -> {
+            try {
+                T instance = mapper.map(values, numericValues);
+                if (instance != null) resultList.add(instance);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Excel 解析失败", e);
+            }
+        });
+        return resultList;
+    }
+
+    private void read(ExcelStreamReader reader, int startRow, int endRow, PageRowConsumer consumer) {
+        if (startRow >= endRow) return;
+
+        reader.read(file, index, startRow, (rowNum, values, numericValues) -> {
+            if (rowNum == 0) header = values;
+            if (rowNum >= endRow) return false;
+            if (rowNum >= startRow) consumer.accept(rowNum, values, numericValues);
+            return rowNum < endRow - 1; // 已读到本页最后一行，立即停止
+        });
+    }
+
+    @FunctionalInterface
+    private interface PageRowConsumer {
+        void accept(int rowNum, String[] values, String[] numericValues);
+    }
+}
@@ -0,0 +1,295 @@
+package com.fluckyeli.excel;
+
+import com.alibaba.druid.DbType;
+import com.fluckyeli.ddlparser.ColumnMeta;
+import com.fluckyeli.ddlparser.DdlTranslator;
+import com.fluckyeli.ddlparser.TableMeta;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Excel 表结构推断：没有对应的 Bean 时，根据 Sheet 内容生成 TableMeta 与建表语句 (例如建立临时导入表)
+ * <p>
+ * 1. 表头行的单元格作为列名：非 [A-Za-z0-9_] 字符替换为下划线，无法作为标识符的 (如中文表头) 命名为 col_N，原表头保存为列注释；
+ * 2. 数据经 {@link ExcelStreamReader} 逐行读取，每列只保存一个类型统计 ({@link ColumnTypeStats})，内存与行数无关；
+ * 数值单元格按原始值分类 (常规格式的 12 位编号、格式为 0 的小数、百分比与货币仍是数值)，日期与文本单元格按显示文本分类；
+ * 3. 类型在 INT / BIGINT / DECIMAL(p, s) / DOUBLE / DATE / DATETIME / VARCHAR(n) 间取上界，
+ * 结果的 dbType 为 other (通用类型名)，可由 {@link DdlTranslator} 输出为任意方言。
+ * <p>
+ * parallelism &gt; 1 时读取线程把行切成 chunkSize 大小的块交给工作线程分类，各块的统计结果最后合并；
+ * 适用于列很多、分类开销接近 XML 解析开销的宽表。
+ *
+ * <pre>
+ * ExcelSchemaInferrer inferrer = new ExcelSchemaInferrer();
+ * TableMeta tableMeta = inferrer.infer(new File("upload.xlsx"), "stg_upload");
+ * String ddl = DdlTranslator.toCreateTable(tableMeta, DbType.mysql);
+ * // 建表后可直接交给 ExcelTableLoader 导入
+ * </pre>
+ */
+@Getter
+@Setter
+public class ExcelSchemaInferrer {
+
+    /**
+     * 表头所在行 (0-based)，数据从下一行开始
+     */
+    private int headerRow = 0;
+    /**
+     * 最多采样的数据行数，0 表示读取整个 Sheet
+     */
+    private int sampleRows = 0;
+    /**
+     * 并行分类的线程数，1 表示在读取线程上直接统计
+     */
+    private int parallelism = 1;
+    /**
+     * 并行模式下每块的行数
+     */
+    private int chunkSize = 4096;
+    /**
+     * 是否将共享字符串表落盘 (见 {@link ExcelStreamReader#setSpillSharedStrings})
+     */
+    private boolean spillSharedStrings = false;
+
+    /**
+     * 推断 xlsx 文件第一个 Sheet 的表结构
+     *
+     * @param file      xlsx 文件
+     * @param tableName 生成的表名
+     * @return 表元数据 (dbType 为 other)
+     */
+    public TableMeta infer(File file, String tableName) {
+        return infer(handler -> newReader().read(file, handler), tableName);
+    }
+
+    /**
+     * 推断 xlsx 输入流的表结构 (调用者负责关闭流)
+     */
+    public TableMeta infer(InputStream inputStream, String tableName) {
+        return infer(handler -> newReader().read(inputStream, handler), tableName);
+    }
+
+    /**
+     * 推断表结构并直接生成目标方言的建表语句
+     */
+    public String toCreateTable(File file, String tableName, DbType target) {
+        return DdlTranslator.toCreateTable(infer(file, tableName), target);
+    }
+
+    private TableMeta infer(Consumer<ExcelStreamReader.RawRowHandler> source, String tableName) {
+        if (parallelism <= 0 || chunkSize <= 0 || sampleRows < 0) {
+            throw new IllegalArgumentException("parallelism / chunkSize 必须大于 0，sampleRows 不能小于 0");
+        }
+
+        SheetStats total = new SheetStats();
+        StatsCollector collector = parallelism == 1 ? new SerialCollector(total) : new ParallelCollector(total);
+        String[][] header = new String[1][];
+        long[] dataRows = {0};
+        try {
+            source.accept((rowNum, values, numericValues) -> {
+                if (rowNum < headerRow) return true;
+                if (rowNum == headerRow) {
+                    header[0] = values;
+                    return true;
+                }
+                if (!collector.accept(values, numericValues)) return false;
+                return sampleRows == 0 || ++dataRows[0] < sampleRows;
+            });
+            collector.finish();
+        } finally {
+            collector.close();
+        }
+
+        Throwable failure = collector.failure();
+        if (failure != null) {
+            throw new RuntimeException("Excel 结构推断失败 [" + tableName + "]", failure);
+        }
+        return toTableMeta(tableName, header[0] == null ? new String[0] : header[0], total);
+    }
+
+    private ExcelStreamReader newReader() {
+        ExcelStreamReader reader = new ExcelStreamReader();
+        reader.setIsoDateFormat(true); // 日期统一为 yyyy-MM-dd HH:mm:ss，便于识别
+        reader.setSpillSharedStrings(spillSharedStrings);
+        return reader;
+    }
+
+    private static TableMeta toTableMeta(String tableName, String[] header, SheetStats stats) {
+        int columnCount = Math.max(header.length, stats.columns.size());
+        Set<String> usedNames = new HashSet<>();
+        List<ColumnMeta> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            String title = i < header.length && header[i] != null ? header[i].trim() : "";
+            ColumnTypeStats columnStats = i < stats.columns.size() ? stats.columns.get(i) : null;
+            if (title.isEmpty() && (columnStats == null || columnStats.getNonNullCount() == 0)) continue; // 空列
+
+            String type = columnStats == null ? new ColumnTypeStats().toSqlType() : columnStats.toSqlType();
+            columns.add(new ColumnMeta(columnName(title, i, usedNames), type, title.isEmpty() ? null : title, false));
+        }
+
+        TableMeta tableMeta = new TableMeta();
+        tableMeta.setTableName(tableName);
+        tableMeta.setDbType(DbType.other.name());
+        tableMeta.setColumns(columns);
+        tableMeta.setPartitionColumns(new ArrayList<>());
+        return tableMeta;
+    }
+
+    /**
+     * 表头转列名：小写、非法字符替换为下划线，无法作为标识符时使用 col_N，重名时追加序号
+     */
+    private static String columnName(String title, int index, Set<String> usedNames) {
+        StringBuilder sb = new StringBuilder(title.length());
+        for (int i = 0; i < title.length(); i++) {
+            char c = Character.toLowerCase(title.charAt(i));
+            boolean valid = c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '_';
+            if (valid) {
+                sb.append(c);
+            } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '_') {
+                sb.append('_');
+            }
+        }
+        while (sb.length() > 0 && sb.charAt(sb.length() - 1) == '_') sb.setLength(sb.length() - 1);
+
+        String name = sb.length() == 0 || !Character.isLetter(sb.charAt(0)) ? "col_" + (index + 1) : sb.toString();
+        String unique = name;
+        for (int n = 2; !usedNames.add(unique); n++) {
+            unique = name + "_" + n;
+        }
+        return unique;
+    }
+
+    // --- 统计 ---
+
+    /**
+     * 整个 Sheet (或一个块) 的统计：每列一个 ColumnTypeStats
+     */
+    private static class SheetStats {
+        private final List<ColumnTypeStats> columns = new ArrayList<>();
+
+        void accept(String[] values, String[] numericValues) {
+            while (columns.size() < values.length) columns.add(new ColumnTypeStats());
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).accept(i < values.length ? values[i] : null, i < numericValues.length ? numericValues[i] : null);
+            }
+        }
+
+        void merge(SheetStats other) {
+            while (columns.size() < other.columns.size()) columns.add(new ColumnTypeStats());
+            for (int i = 0; i < other.columns.size(); i++) {
+                columns.get(i).merge(other.columns.get(i));
+            }
+        }
+    }
+
+    private interface StatsCollector {
+        /**
+         * @return 返回 false 表示已失败，应停止读取
+         */
+        boolean accept(String[] values, String[] numericValues);
+
+        void finish();
+
+        void close();
+
+        Throwable failure();
+    }
+
+    /**
+     * 在读取线程上直接统计
+     */
+    private static class SerialCollector implements StatsCollector {
+        private final SheetStats total;
+
+        SerialCollector(SheetStats total) {
+            this.total = total;
+        }
+
+        @Override
+        public boolean accept(String[] values, String[] numericValues) {
+            total.accept(values, numericValues);
+            return true;
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Throwable failure() {
+            return null;
+        }
+    }
+
+    /**
+     * 读取线程把行切块提交给线程池，每块单独统计后合并到总统计；信号量限制在途的块数，内存保持有界
+     */
+    private class ParallelCollector implements StatsCollector {
+        private final SheetStats total;
+        private final ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        private final Semaphore inFlight = new Semaphore(parallelism * 2);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private List<String[][]> chunk = new ArrayList<>(chunkSize); // 每行为 {values, numericValues}
+
+        ParallelCollector(SheetStats total) {
+            this.total = total;
+        }
+
+        @Override
+        public boolean accept(String[] values, String[] numericValues) {
+            chunk.add(new String[][]{values, numericValues});
+            if (chunk.size() >= chunkSize) submit();
+            return failure.get() == null;
+        }
+
+        @Override
+        public void finish() {
+            if (!chunk.isEmpty()) submit();
+            inFlight.acquireUninterruptibly(parallelism * 2); // 等待所有块合并完成
+        }
+
+        private void submit() {
+            List<String[][]> rows = chunk;
+            chunk = new ArrayList<>(chunkSize);
+            inFlight.acquireUninterruptibly();
+            pool.execute(() -> {
+                try {
+                    SheetStats local = new SheetStats();
+                    for (String[][] row : rows) {
+                        local.accept(row[0], row[1]);
+                    }
+                    synchronized (total) {
+                        total.merge(local);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            pool.shutdownNow();
+        }
+
+        @Override
+        public Throwable failure() {
+            return failure.get();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.fluckyeli.excel;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * 基于 POI 事件模型 (SAX) 的 xlsx 流式读取器
+ * <p>
+ * 与 {@link ExcelUtils#parse} 使用的 WorkbookFactory 不同，本类不会构建整个 Workbook 对象，
+ * 逐行回调单元格的格式化文本，内存占用与文件行数无关；回调返回 false 即可提前终止读取。
+ * 仅支持 .xlsx，默认读取第一个 Sheet。
+ */
+@Getter
+@Setter
+public class ExcelStreamReader {
+
+    /**
+     * 标准日期格式，isoDateFormat 开启时日期单元格统一按此格式输出
+     */
+    public static final String ISO_DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    /**
+     * 是否将日期单元格统一输出为 {@link #ISO_DATE_PATTERN}，而不是 Excel 中的显示格式 (如 1/2/24)
+     * 需要再把文本转换为 Date / Timestamp 时应开启
+     */
+    private boolean isoDateFormat = false;
+
+    /**
+     * 是否将共享字符串表 (SST) 落盘为内存映射临时文件，而不是整体加载到堆上
+     * 文件包含数百万条不同字符串时开启，堆占用不再随字符串数量增长
+     */
+    private boolean spillSharedStrings = false;
+
+    /**
+     * 列过滤器 (参数为 0-based 列索引)，null 表示读取所有列
+     * 被过滤的列不会出现在回调的 values 中，其共享字符串也不会被解析；
+     * 过滤器在每个单元格上实时判断，可以在读到表头后再确定需要的列
+     */
+    private IntPredicate columnFilter;
+
+    /**
+     * 行回调
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowNum 行号 (0-based)
+         * @param values 按列索引存放的单元格文本，空单元格为 null；数组归调用方所有，可直接保存
+         * @return 返回 false 时停止读取
+         */
+        boolean onRow(int rowNum, String[] values);
+    }
+
+    /**
+     * 同时接收数值单元格原始值的行回调，供需要把文本再转换为数字的内部映射使用
+     * (显示文本受单元格格式影响，如 #,##0.00 显示为 1,234.50，无法直接解析)
+     */
+    @FunctionalInterface
+    interface RawRowHandler {
+        /**
+         * @param numericValues 与 values 对齐，数值单元格 (含日期、公式结果) 为常规格式的原始值 (如 1234.5)，其余为 null
+         */
+        boolean onRow(int rowNum, String[] values, String[] numericValues);
+    }
+
+    /**
+     * 读取 xlsx 文件 (按需解压，推荐)
+     */
+    public void read(File file, RowHandler handler) {
+        read(file, null, 0, (rowNum, values, numericValues) -> handler.onRow(rowNum, values));
+    }
+
+    /**
+     * 读取 xlsx 文件，回调中同时提供数值单元格的原始值
+     */
+    void read(File file, RawRowHandler handler) {
+        read(file, null, 0, handler);
+    }
+
+    /**
+     * 读取 xlsx 文件，并借助行偏移索引跳到 fromRow 附近开始解析 (同时补充索引)
+     * 注意：跳转后 handler 收到的第一行可能早于 fromRow，由调用方过滤
+     */
+    void read(File file, RowOffsetIndex index, int fromRow, RawRowHandler handler) {
+        try {
+            read(OPCPackage.open(file, PackageAccess.READ), index, fromRow, handler);
+        } catch (StopReadingException e) {
+            // 正常的提前终止
+        } catch (Exception e) {
+            throw new RuntimeException("Excel 解析失败", e);
+        }
+    }
+
+    /**
+     * 读取 xlsx 输入流 (调用者负责关闭流)
+     */
+    public void read(InputStream inputStream, RowHandler handler) {
+        read(inputStream, (rowNum, values, numericValues) -> handler.onRow(rowNum, values));
+    }
+
+    /**
+     * 读取 xlsx 输入流，回调中同时提供数值单元格的原始值 (调用者负责关闭流)
+     */
+    void read(InputStream inputStream, RawRowHandler handler) {
+        try {
+            read(OPCPackage.open(inputStream), null, 0, handler);
+        } catch (StopReadingException e) {
+            // 正常的提前终止
+        } catch (Exception e) {
+            throw new RuntimeException("Excel 解析失败", e);
+        }
+    }
+
+    private void read(OPCPackage pkg, RowOffsetIndex index, int fromRow, RawRowHandler handler) throws Exception {
+        try {
+            XSSFReader xssfReader = new XSSFReader(pkg);
+            StylesTable styles = xssfReader.getStylesTable();
+
+            Iterator<InputStream> sheets = xssfReader.getSheetsData();
+            if (!sheets.hasNext()) return;
+
+            try (SharedStringsHolder sharedStrings = openSharedStrings(pkg, xssfReader);
+                 InputStream sheet = sheets.next()) { // 默认读取第一个 Sheet
+                InputStream source = sheet;
+                RowOffsetIndex.Recorder recorder = null;
+                if (index != null) {
+                    Map.Entry<Integer, Long> seek = index.floor(fromRow);
+                    if (seek != null) {
+                        // 只解压不解析，跳过目标行之前的数据，再接上原始文档开头
+                        sheet.skipNBytes(seek.getValue());
+                        recorder = index.wrap(sheet, seek.getValue());
+                        source = new SequenceInputStream(new ByteArrayInputStream(index.prefix()), recorder);
+                    } else {
+                        recorder = index.wrap(sheet, 0);
+                        source = recorder;
+                    }
+                }
+
+                CellCursor cursor = new CellCursor();
+                DataFormatter formatter = new CursorFormatter(cursor, isoDateFormat);
+                SharedStrings lazyStrings = columnFilter == null ? sharedStrings.table : new FilteredSharedStrings(sharedStrings.table, cursor, columnFilter);
+                RowCollector collector = new RowCollector(handler, recorder, columnFilter, cursor);
+
+                XMLReader xmlReader = XMLHelper.newXMLReader();
+                xmlReader.setContentHandler(new CursorSheetHandler(styles, lazyStrings, collector, formatter, cursor));
+                xmlReader.parse(new InputSource(source));
+            }
+        } finally {
+            pkg.revert(); // 只读场景，关闭时不回写
+        }
+    }
+
+    /**
+     * 按配置打开共享字符串表：堆内 (ReadOnlySharedStringsTable) 或落盘 (MappedSharedStrings)
+     */
+    private SharedStringsHolder openSharedStrings(OPCPackage pkg, XSSFReader xssfReader) throws Exception {
+        if (!spillSharedStrings) {
+            return new SharedStringsHolder(new ReadOnlySharedStringsTable(pkg, false));
+        }
+        if (pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType()).isEmpty()) {
+            return new SharedStringsHolder(new MappedSharedStrings(null)); // 没有共享字符串
+        }
+        try (InputStream data = xssfReader.getSharedStringsData()) {
+            return new SharedStringsHolder(new MappedSharedStrings(data));
+        }
+    }
+
+    /**
+     * 让共享字符串表参与 try-with-resources (落盘实现需要删除临时文件)
+     */
+    private static class SharedStringsHolder implements Closeable {
+        final SharedStrings table;
+
+        SharedStringsHolder(SharedStrings table) {
+            this.table = table;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (table instanceof Closeable) ((Closeable) table).close();
+        }
+    }
+
+    /**
+     * 当前正在解析的单元格：列索引，以及数值单元格格式化前的原始值
+     */
+    private static class CellCursor {
+        int column = -1;
+        String numericValue;
+        boolean numericType;
+    }
+
+    /**
+     * 在 POI 解析每个 &lt;c&gt; 之前记录其列索引与类型，供 FilteredSharedStrings 和 RowCollector 使用
+     */
+    private static class CursorSheetHandler extends XSSFSheetXMLHandler {
+        private final CellCursor cursor;
+
+        CursorSheetHandler(StylesTable styles, SharedStrings strings, SheetContentsHandler contents, DataFormatter formatter, CellCursor cursor) {
+            super(styles, strings, contents, formatter, false);
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if ("c".equals(localName)) {
+                cursor.column = columnOf(attributes.getValue("r"));
+                String type = attributes.getValue("t");
+                cursor.numericType = type == null || "n".equals(type);
+                cursor.numericValue = null;
+            }
+            super.startElement(uri, localName, qName, attributes);
+        }
+
+        /**
+         * 从单元格引用 (如 AB12) 中解析列索引，不创建 CellReference 对象
+         */
+        private static int columnOf(String ref) {
+            if (ref == null) return -1;
+            int column = 0;
+            for (int i = 0; i < ref.length(); i++) {
+                char c = ref.charAt(i);
+                if (c < 'A' || c > 'Z') break;
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
+    /**
+     * 只为需要的列解析共享字符串，其余列直接返回空串
+     */
+    private static class FilteredSharedStrings implements SharedStrings {
+        private static final RichTextString SKIPPED = new XSSFRichTextString("");
+
+        private final SharedStrings delegate;
+        private final CellCursor cursor;
+        private final IntPredicate columnFilter;
+
+        FilteredSharedStrings(SharedStrings delegate, CellCursor cursor, IntPredicate columnFilter) {
+            this.delegate = delegate;
+            this.cursor = cursor;
+            this.columnFilter = columnFilter;
+        }
+
+        @Override
+        public RichTextString getItemAt(int idx) {
+            if (cursor.column >= 0 && !columnFilter.test(cursor.column)) return SKIPPED;
+            return delegate.getItemAt(idx);
+        }
+
+        @Override
+        public int getCount() {
+            return delegate.getCount();
+        }
+
+        @Override
+        public int getUniqueCount() {
+            return delegate.getUniqueCount();
+        }
+    }
+
+    /**
+     * 将单元格事件聚合为整行，再交给 RawRowHandler
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RawRowHandler handler;
+        private final RowOffsetIndex.Recorder recorder;
+        private final IntPredicate columnFilter;
+        private final CellCursor cursor;
+        private final List<String> values = new ArrayList<>();
+        private final List<String> numericValues = new ArrayList<>();
+
+        RowCollector(RawRowHandler handler, RowOffsetIndex.Recorder recorder, IntPredicate columnFilter, CellCursor cursor) {
+            this.handler = handler;
+            this.recorder = recorder;
+            this.columnFilter = columnFilter;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values.clear();
+            numericValues.clear();
+            if (recorder != null) recorder.onRowStart(rowNum);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference == null ? values.size() : new CellReference(cellReference).getCol();
+            if (columnFilter != null && !columnFilter.test(col)) return;
+            while (values.size() <= col) {
+                values.add(null);
+                numericValues.add(null);
+            }
+            values.set(col, formattedValue);
+            // 设置了格式的数值由 CursorFormatter 记录原始值，未设置格式的数值单元格显示文本即原始值
+            String numeric = cursor.numericValue != null ? cursor.numericValue : cursor.numericType ? formattedValue : null;
+            numericValues.set(col, numeric);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!handler.onRow(rowNum, values.toArray(new String[0]), numericValues.toArray(new String[0]))) {
+                // 直接中断 SAX 解析，后续的压缩数据不会再被解压
+                throw new StopReadingException();
+            }
+        }
+    }
+
+    /**
+     * 格式化数值单元格时把原始值记录到 CellCursor；
+     * isoDate 开启时日期单元格统一输出为 yyyy-MM-dd HH:mm:ss，其余格式保持 DataFormatter 的默认行为
+     */
+    private static class CursorFormatter extends DataFormatter {
+        private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ofPattern(ISO_DATE_PATTERN);
+
+        private final CellCursor cursor;
+        private final boolean isoDate;
+
+        CursorFormatter(CellCursor cursor, boolean isoDate) {
+            this.cursor = cursor;
+            this.isoDate = isoDate;
+        }
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            cursor.numericValue = NumberToTextConverter.toText(value);
+            if (isoDate && DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).format(ISO_FORMATTER);
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+        }
+    }
+
+    /**
+     * 用于从回调中跳出 SAX 解析
+     */
+    private static class StopReadingException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StopReadingException() {
+            super(null, null, false, false); // 不需要堆栈
+        }
+    }
+}
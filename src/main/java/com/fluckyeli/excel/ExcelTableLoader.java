@@ -0,0 +1,589 @@
+package com.fluckyeli.excel;
+
+import com.fluckyeli.ddlparser.ColumnMeta;
+import com.fluckyeli.ddlparser.TableMeta;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Excel 批量入库工具：按 TableMeta (通常来自 {@link com.fluckyeli.ddlparser.GenericDdlParserUtils}) 描述的表结构，
+ * 将 xlsx 数据流式写入数据库，全程不构建 Bean
+ * <p>
+ * 1. 表头按列名 (忽略大小写) 或列注释匹配到普通列，未匹配的 Excel 列会被忽略，分区列不参与写入；
+ * 2. 数据经 {@link ExcelStreamReader} 逐行读取，每 batchSize 行组成一条多行 INSERT (VALUES (...),(...))，
+ * PreparedStatement 预编译一次反复使用；
+ * 3. 每写入 commitInterval 行提交一次事务；
+ * 4. writerThreads > 1 时由读取线程分发批次，多个写线程各自持有一个连接并行写入。
+ * <p>
+ * 注意：需要数据库支持多行 VALUES 语法 (MySQL, PostgreSQL, H2, SQLite 等)；
+ * 中途失败时，已提交的批次不会回滚。
+ *
+ * <pre>
+ * ExcelTableLoader loader = new ExcelTableLoader(dataSource, tableMeta);
+ * loader.setBatchSize(500);
+ * long rows = loader.load(new File("orders.xlsx"));
+ * </pre>
+ */
+@Getter
+@Setter
+public class ExcelTableLoader {
+
+    private final DataSource dataSource;
+    private final TableMeta tableMeta;
+
+    /**
+     * 表头所在行 (0-based)，数据从下一行开始
+     */
+    private int headerRow = 0;
+    /**
+     * 每条多行 INSERT 包含的行数 (注意数据库对单条语句参数个数的限制)
+     */
+    private int batchSize = 200;
+    /**
+     * 每写入多少行提交一次事务 (按批次取整)
+     */
+    private int commitInterval = 10000;
+    /**
+     * 并行写线程数，每个线程占用一个数据库连接
+     */
+    private int writerThreads = 1;
+
+    public ExcelTableLoader(DataSource dataSource, TableMeta tableMeta) {
+        this.dataSource = dataSource;
+        this.tableMeta = tableMeta;
+    }
+
+    /**
+     * 导入 xlsx 文件
+     *
+     * @return 写入的行数
+     */
+    public long load(File file) {
+        return load(handler -> newReader().read(file, handler));
+    }
+
+    /**
+     * 导入 xlsx 输入流 (调用者负责关闭流)
+     *
+     * @return 写入的行数
+     */
+    public long load(InputStream inputStream) {
+        return load(handler -> newReader().read(inputStream, handler));
+    }
+
+    private long load(Consumer<ExcelStreamReader.RawRowHandler> source) {
+        if (batchSize <= 0 || commitInterval <= 0 || writerThreads <= 0) {
+            throw new IllegalArgumentException("batchSize / commitInterval / writerThreads 必须大于 0");
+        }
+
+        BatchSink sink = writerThreads == 1 ? new SerialSink() : new ParallelSink();
+        try {
+            RowDispatcher dispatcher = new RowDispatcher(sink);
+            source.accept(dispatcher);
+            dispatcher.flush();
+            sink.finish();
+        } catch (RuntimeException e) {
+            sink.fail(e); // 读取失败：通知写线程放弃，否则它们会一直阻塞在队列上
+            throw e;
+        } finally {
+            sink.close();
+        }
+
+        Throwable failure = sink.failure();
+        if (failure != null) {
+            throw new RuntimeException("Excel 导入失败 [" + tableMeta.getTableName() + "]", failure);
+        }
+        return sink.writtenRows();
+    }
+
+    private ExcelStreamReader newReader() {
+        ExcelStreamReader reader = new ExcelStreamReader();
+        reader.setIsoDateFormat(true); // 日期统一为 yyyy-MM-dd HH:mm:ss，便于转换为 Timestamp
+        return reader;
+    }
+
+    // --- 行分发 ---
+
+    /**
+     * 读取线程上的行回调：解析表头建立映射，之后把数据行按 batchSize 切成批次交给 BatchSink
+     * <p>
+     * 数值列取数值单元格的原始值而不是显示文本：显示文本受单元格格式影响，
+     * 如常规格式的 123456789012 显示为 1.23457E+11，格式 0 把 3.14159 显示为 3，百分比显示为 12.50%
+     */
+    private class RowDispatcher implements ExcelStreamReader.RawRowHandler {
+        private final BatchSink sink;
+        private int[] excelIndexes; // 第 i 个写入列对应的 Excel 列索引
+        private boolean[] numericColumns; // 第 i 个写入列是否为数值列
+        private List<String[]> batch = new ArrayList<>(batchSize);
+
+        RowDispatcher(BatchSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean onRow(int rowNum, String[] values, String[] numericValues) {
+            if (rowNum < headerRow) return true;
+            if (rowNum == headerRow) {
+                bindHeader(values);
+                return true;
+            }
+            if (excelIndexes == null) return true; // 表头行为空
+
+            String[] mapped = new String[excelIndexes.length];
+            boolean hasData = false;
+            for (int i = 0; i < excelIndexes.length; i++) {
+                int col = excelIndexes[i];
+                if (col < values.length && values[col] != null && !values[col].isEmpty()) {
+                    String numeric = numericColumns[i] && col < numericValues.length ? numericValues[col] : null;
+                    mapped[i] = numeric != null ? numeric : values[col]; // 文本单元格仍使用显示文本
+                    hasData = true;
+                }
+            }
+            if (!hasData) return true;
+
+            batch.add(mapped);
+            if (batch.size() >= batchSize) {
+                List<String[]> full = batch;
+                batch = new ArrayList<>(batchSize);
+                return sink.accept(full);
+            }
+            return true;
+        }
+
+        void flush() {
+            if (!batch.isEmpty() && sink.failure() == null) {
+                sink.accept(batch);
+            }
+        }
+
+        private void bindHeader(String[] headers) {
+            List<ColumnMeta> columns = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            for (int col = 0; col < headers.length; col++) {
+                if (headers[col] == null) continue;
+                ColumnMeta column = findColumn(headers[col].trim());
+                if (column != null && !columns.contains(column)) {
+                    columns.add(column);
+                    indexes.add(col);
+                }
+            }
+            if (columns.isEmpty()) {
+                throw new IllegalArgumentException("Excel 表头与表 " + tableMeta.getTableName() + " 的列没有任何匹配。");
+            }
+            excelIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+            numericColumns = new boolean[columns.size()];
+            for (int i = 0; i < numericColumns.length; i++) {
+                int sqlType = sqlTypeOf(columns.get(i).getType());
+                numericColumns[i] = sqlType == Types.BIGINT || sqlType == Types.DECIMAL;
+            }
+            sink.prepare(columns);
+        }
+
+        private ColumnMeta findColumn(String header) {
+            for (ColumnMeta column : tableMeta.getColumns()) {
+                if (column.getName().equalsIgnoreCase(header)) return column;
+            }
+            for (ColumnMeta column : tableMeta.getColumns()) {
+                if (header.equals(column.getComment())) return column;
+            }
+            return null;
+        }
+    }
+
+    // --- 批次写入 ---
+
+    /**
+     * 批次的去向：串行写入或分发给写线程
+     */
+    private interface BatchSink {
+        /**
+         * 表头解析完成后调用，确定写入列
+         */
+        void prepare(List<ColumnMeta> columns);
+
+        /**
+         * @return 返回 false 表示写入已失败，应停止读取
+         */
+        boolean accept(List<String[]> batch);
+
+        void finish();
+
+        /**
+         * 读取线程出错时调用，之后 close() 会放弃未提交的数据
+         */
+        void fail(Throwable cause);
+
+        void close();
+
+        Throwable failure();
+
+        long writtenRows();
+    }
+
+    /**
+     * 在读取线程上直接写入
+     */
+    private class SerialSink implements BatchSink {
+        private BatchWriter writer;
+        private Throwable failure;
+
+        @Override
+        public void prepare(List<ColumnMeta> columns) {
+            try {
+                writer = new BatchWriter(columns);
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public boolean accept(List<String[]> batch) {
+            if (failure != null) return false;
+            try {
+                writer.write(batch);
+                return true;
+            } catch (Exception e) {
+                failure = e;
+                return false;
+            }
+        }
+
+        @Override
+        public void finish() {
+            if (writer == null || failure != null) return;
+            try {
+                writer.commit();
+            } catch (SQLException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void fail(Throwable cause) {
+            if (failure == null) failure = cause;
+        }
+
+        @Override
+        public void close() {
+            if (writer != null) writer.close();
+        }
+
+        @Override
+        public Throwable failure() {
+            return failure;
+        }
+
+        @Override
+        public long writtenRows() {
+            return writer == null ? 0 : writer.committedRows;
+        }
+    }
+
+    /**
+     * 读取线程把批次放入有界队列，writerThreads 个写线程各自持有连接并行写入
+     */
+    private class ParallelSink implements BatchSink {
+        private final List<String[]> poison = Collections.emptyList();
+        private final BlockingQueue<List<String[]>> queue = new ArrayBlockingQueue<>(writerThreads * 2);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final AtomicLong writtenRows = new AtomicLong();
+        private ExecutorService pool;
+
+        @Override
+        public void prepare(List<ColumnMeta> columns) {
+            pool = Executors.newFixedThreadPool(writerThreads);
+            for (int i = 0; i < writerThreads; i++) {
+                pool.submit(() -> runWriter(columns));
+            }
+        }
+
+        private void runWriter(List<ColumnMeta> columns) {
+            BatchWriter writer = null;
+            try {
+                writer = new BatchWriter(columns);
+                while (true) {
+                    List<String[]> batch = queue.take();
+                    if (batch == poison) break;
+                    writer.write(batch);
+                }
+                writer.commit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // 其他线程失败，放弃未提交的数据
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                if (writer != null) {
+                    writtenRows.addAndGet(writer.committedRows);
+                    writer.close();
+                }
+            }
+        }
+
+        @Override
+        public boolean accept(List<String[]> batch) {
+            return offer(batch);
+        }
+
+        @Override
+        public void finish() {
+            if (pool == null) return;
+            for (int i = 0; i < writerThreads; i++) {
+                if (!offer(poison)) break;
+            }
+        }
+
+        /**
+         * 队列满时阻塞等待，但写线程失败后立即放弃
+         */
+        private boolean offer(List<String[]> batch) {
+            try {
+                while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+                    if (failure.get() != null) return false;
+                }
+                return failure.get() == null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                return false;
+            }
+        }
+
+        @Override
+        public void fail(Throwable cause) {
+            failure.compareAndSet(null, cause);
+        }
+
+        @Override
+        public void close() {
+            if (pool == null) return;
+            if (failure.get() != null) {
+                pool.shutdownNow();
+            } else {
+                pool.shutdown();
+            }
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public Throwable failure() {
+            return failure.get();
+        }
+
+        @Override
+        public long writtenRows() {
+            return writtenRows.get();
+        }
+    }
+
+    /**
+     * 单个连接上的写入器：复用满批次的 PreparedStatement，按 commitInterval 提交
+     */
+    private class BatchWriter {
+        private final List<ColumnMeta> columns;
+        private final int[] sqlTypes;
+        private final Connection connection;
+        private final boolean originalAutoCommit;
+        private final IdentifierQuoter quoter;
+        private final PreparedStatement fullStatement;
+        private long uncommittedRows = 0;
+        private long committedRows = 0;
+
+        BatchWriter(List<ColumnMeta> columns) throws SQLException {
+            this.columns = columns;
+            this.sqlTypes = columns.stream().mapToInt(column -> sqlTypeOf(column.getType())).toArray();
+            this.connection = dataSource.getConnection();
+            try {
+                this.originalAutoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                this.quoter = new IdentifierQuoter(connection.getMetaData());
+                this.fullStatement = connection.prepareStatement(insertSql(quoter, columns, batchSize));
+            } catch (SQLException e) {
+                connection.close();
+                throw e;
+            }
+        }
+
+        void write(List<String[]> batch) throws SQLException {
+            if (batch.size() == batchSize) {
+                bindAndExecute(fullStatement, batch);
+            } else {
+                // 只有最后一个不满的批次会走到这里
+                try (PreparedStatement tailStatement = connection.prepareStatement(insertSql(quoter, columns, batch.size()))) {
+                    bindAndExecute(tailStatement, batch);
+                }
+            }
+            uncommittedRows += batch.size();
+            if (uncommittedRows >= commitInterval) {
+                commit();
+            }
+        }
+
+        void commit() throws SQLException {
+            if (uncommittedRows == 0) return;
+            connection.commit();
+            committedRows += uncommittedRows;
+            uncommittedRows = 0;
+        }
+
+        private void bindAndExecute(PreparedStatement statement, List<String[]> batch) throws SQLException {
+            int index = 1;
+            for (String[] row : batch) {
+                for (int i = 0; i < row.length; i++) {
+                    bind(statement, index++, row[i], sqlTypes[i]);
+                }
+            }
+            statement.executeUpdate();
+        }
+
+        /**
+         * 回滚未提交的数据并释放连接
+         */
+        void close() {
+            try {
+                if (uncommittedRows > 0) connection.rollback();
+                fullStatement.close();
+                connection.setAutoCommit(originalAutoCommit);
+            } catch (SQLException e) {
+                System.err.println("释放连接时出错: " + e.getMessage());
+            } finally {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+
+    // --- SQL 与类型转换 ---
+
+    /**
+     * 生成多行 INSERT：INSERT INTO "t" ("a", "b") VALUES (?, ?), (?, ?)
+     * <p>
+     * 表名与列名都加引号，避免 order、desc 这类关键字列名导致语法错误 (DDL 解析时已去掉原有的引号)
+     */
+    private String insertSql(IdentifierQuoter quoter, List<ColumnMeta> columns, int rows) {
+        StringJoiner names = new StringJoiner(", ", " (", ")");
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (ColumnMeta column : columns) {
+            names.add(quoter.quote(column.getName()));
+            placeholders.add("?");
+        }
+        String tuple = placeholders.toString();
+
+        String table = tableMeta.getSchema() == null
+                ? quoter.quote(tableMeta.getTableName())
+                : quoter.quote(tableMeta.getSchema()) + "." + quoter.quote(tableMeta.getTableName());
+        StringBuilder sql = new StringBuilder(64 + rows * (tuple.length() + 2));
+        sql.append("INSERT INTO ").append(table).append(names).append(" VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(tuple);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 按 DDL 中的类型名粗分为整数 / 小数 / 时间 / 字符串四类
+     */
+    private static int sqlTypeOf(String type) {
+        String base = type.toLowerCase(Locale.ROOT);
+        int end = 0;
+        while (end < base.length() && Character.isLetterOrDigit(base.charAt(end))) end++;
+        base = base.substring(0, end);
+
+        switch (base) {
+            case "tinyint": case "smallint": case "mediumint": case "int": case "integer": case "bigint":
+            case "int2": case "int4": case "int8": case "serial": case "bigserial": case "long":
+                return Types.BIGINT;
+            case "decimal": case "numeric": case "number": case "float": case "double": case "real":
+            case "float4": case "float8": case "money":
+                return Types.DECIMAL;
+            case "date": case "datetime": case "datetime2": case "smalldatetime": case "timestamp": case "timestamptz":
+                return Types.TIMESTAMP;
+            default:
+                return Types.VARCHAR;
+        }
+    }
+
+    private static void bind(PreparedStatement statement, int index, String value, int sqlType) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+            return;
+        }
+        switch (sqlType) {
+            case Types.BIGINT:
+                statement.setLong(index, new BigDecimal(value.replace(",", "")).longValueExact());
+                break;
+            case Types.DECIMAL:
+                statement.setBigDecimal(index, new BigDecimal(value.replace(",", "")));
+                break;
+            case Types.TIMESTAMP:
+                statement.setTimestamp(index, parseTimestamp(value));
+                break;
+            default:
+                statement.setString(index, value);
+        }
+    }
+
+    /**
+     * 日期单元格已被读取器格式化为 yyyy-MM-dd HH:mm:ss；文本形式的日期还接受 yyyy/MM/dd 与 yyyy-MM-ddTHH:mm:ss，
+     * 只有日期部分时补全时间
+     */
+    static Timestamp parseTimestamp(String value) {
+        String text = value.trim();
+        if (text.length() >= 10 && text.charAt(4) == '/' && text.charAt(7) == '/') {
+            text = text.substring(0, 10).replace('/', '-') + text.substring(10);
+        }
+        if (text.length() > 10 && text.charAt(10) == 'T') {
+            text = text.substring(0, 10) + " " + text.substring(11);
+        }
+        return Timestamp.valueOf(text.length() == 10 ? text + " 00:00:00" : text);
+    }
+
+    /**
+     * 按数据库的规则给标识符加引号：引号字符取自 DatabaseMetaData，
+     * 大小写按数据库存储未加引号标识符的方式转换 (如 H2 / Oracle 转大写、PostgreSQL 转小写)，使加引号前后指向同一个对象
+     */
+    private static class IdentifierQuoter {
+        private final String quote;
+        private final boolean upperCase;
+        private final boolean lowerCase;
+
+        IdentifierQuoter(DatabaseMetaData metaData) throws SQLException {
+            String quoteString = metaData.getIdentifierQuoteString();
+            this.quote = quoteString == null ? "" : quoteString.trim();
+            this.upperCase = metaData.storesUpperCaseIdentifiers();
+            this.lowerCase = metaData.storesLowerCaseIdentifiers();
+        }
+
+        String quote(String name) {
+            if (quote.isEmpty()) return name; // 数据库不支持引号标识符
+            String stored = upperCase ? name.toUpperCase(Locale.ROOT) : lowerCase ? name.toLowerCase(Locale.ROOT) : name;
+            return quote + stored.replace(quote, quote + quote) + quote;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.fluckyeli.excel;
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.NumberToTextConverter;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
+import java.io.File;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 
 /**
@@ -34,7 +40,8 @@ public class ExcelUtils {
                 return resultList;
             }
 
-            int totalRows = sheet.getPhysicalNumberOfRows();
+            // 注意：不能用 getPhysicalNumberOfRows，稀疏 Sheet (中间有空行) 下它小于最后一行的行号
+            int totalRows = sheet.getLastRowNum() + 1;
             int actualEndRow = (endRow == null || endRow > totalRows) ? totalRows : endRow;
 
             // 1. 解析表头 (假设第0行总是表头，用于建立映射关系)
@@ -48,6 +55,7 @@ public class ExcelUtils {
 
             // 2. 建立 字段 -> 列索引 的映射
             Map<Field, Integer> fieldColumnMap = new HashMap<>();
+            Map<Field, StringDictionary> dictionaryMap = new HashMap<>(); // 开启了去重字典的 String 字段
             Field[] fields = clazz.getDeclaredFields();
             for (Field field : fields) {
                 if (field.isAnnotationPresent(ExcelColumn.class)) {
@@ -56,10 +64,16 @@ public class ExcelUtils {
                     if (headerMap.containsKey(headerName)) {
                         field.setAccessible(true); // 允许访问私有字段
                         fieldColumnMap.put(field, headerMap.get(headerName));
+                        StringDictionary dictionary = StringDictionary.of(annotation.dictionary());
+                        if (dictionary != null && field.getType() == String.class) {
+                            dictionaryMap.put(field, dictionary);
+                        }
                     }
                 }
             }
 
+            DataFormatter formatter = new DataFormatter(); // 整个解析过程复用同一个格式化器
+
             // 3. 遍历数据行
             for (int i = startRow; i < actualEndRow; i++) {
                 Row row = sheet.getRow(i);
@@ -74,7 +88,11 @@ public class ExcelUtils {
                     Cell cell = row.getCell(colIndex);
 
                     if (cell != null) {
-                        Object cellValue = convertCellValue(cell, field.getType());
+                        Object cellValue = convertCellValue(cell, field.getType(), formatter);
+                        StringDictionary dictionary = dictionaryMap.get(field);
+                        if (dictionary != null) {
+                            cellValue = dictionary.canonicalize((String) cellValue);
+                        }
                         if (cellValue != null) {
                             field.set(instance, cellValue);
                             hasData = true;
@@ -94,11 +112,69 @@ public class ExcelUtils {
         return resultList;
     }
 
+    /**
+     * 流式解析 xlsx 文件：不构建 Workbook，逐行映射为 Bean 并回调，适用于超大文件
+     * <p>
+     * 表头同样取第 0 行，映射规则与 {@link #parse(InputStream, Class, int, Integer)} 一致；
+     * 只解析 @ExcelColumn 映射到的列，其余列的共享字符串不会被读取。
+     *
+     * @param file               xlsx 文件
+     * @param clazz              映射的 Bean 类
+     * @param startRow           数据起始行（0-based）
+     * @param endRow             结束行（null 表示读到最后一行）
+     * @param spillSharedStrings 是否将共享字符串表落盘为内存映射临时文件；文件包含数百万条不同字符串时开启，堆占用保持有界
+     * @param consumer           每个解析出的对象的回调
+     * @param <T>                泛型
+     */
+    public static <T> void parse(File file, Class<T> clazz, int startRow, Integer endRow,
+                                 boolean spillSharedStrings, Consumer<T> consumer) {
+        ExcelStreamReader reader = new ExcelStreamReader();
+        reader.setIsoDateFormat(true); // 便于转换为 Date 字段
+        reader.setSpillSharedStrings(spillSharedStrings);
+
+        // 表头行读取所有列，之后只读取映射到字段的列
+        AtomicReference<BeanRowMapper<T>> mapper = new AtomicReference<>();
+        reader.setColumnFilter(col -> mapper.get() == null || mapper.get().isMapped(col));
+
+        reader.read(file, (rowNum, values, numericValues) -> {
+            if (endRow != null && rowNum >= endRow) return false;
+            if (mapper.get() == null) {
+                mapper.set(new BeanRowMapper<>(clazz, rowNum == 0 ? values : new String[0]));
+            }
+            if (rowNum >= startRow) {
+                try {
+                    T instance = mapper.get().map(values, numericValues);
+                    if (instance != null) consumer.accept(instance);
+                } catch (ReflectiveOperationException e) {
+                    throw new RuntimeException("Excel 解析失败", e);
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 文本转换为枚举常量：忽略首尾空白和大小写 (按大写匹配常量名)，找不到时返回 null
+     */
+    private static Object toEnum(String text, Class<?> enumType) {
+        String enumName = text.trim().toUpperCase(); // 转换为大写，提高匹配容错性
+        if (enumName.isEmpty()) {
+            return null;
+        }
+        for (Object constant : enumType.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(enumName)) {
+                return constant;
+            }
+        }
+        // 如果 Excel 单元格中的值在枚举中找不到，则忽略
+        System.err.printf("警告: Excel值 '%s' 在枚举 %s 中找不到对应的常量，将返回 null.%n", enumName, enumType.getName());
+        return null;
+    }
+
     /**
      * 单元格类型转换逻辑
      */
-    private static Object convertCellValue(Cell cell, Class<?> fieldType) {
-        DataFormatter formatter = new DataFormatter(); // POI 提供的格式化工具
+    private static Object convertCellValue(Cell cell, Class<?> fieldType, DataFormatter formatter) {
 
         // 如果单元格为空，直接返回 null
         if (cell == null || cell.getCellType() == CellType.BLANK) {
@@ -107,21 +183,7 @@ public class ExcelUtils {
 
         // 0. Enum 枚举类型处理
         if (fieldType.isEnum()) {
-            String cellString = formatter.formatCellValue(cell).trim().toUpperCase(); // 转换为大写，提高匹配容错性
-
-            if (cellString.isEmpty()) {
-                return null;
-            }
-
-            try {
-                // 使用 Enum.valueOf() 进行反射转换。
-                // ⚠️ 注意：这要求 Excel 中的字符串必须精确匹配（这里是匹配大写后）枚举常量的名称。
-                return Enum.valueOf((Class<Enum>) fieldType, cellString);
-            } catch (IllegalArgumentException e) {
-                // 如果 Excel 单元格中的值在枚举中找不到，则忽略或抛出错误
-                System.err.printf("警告: Excel值 '%s' 在枚举 %s 中找不到对应的常量，将返回 null.%n", cellString, fieldType.getName());
-                return null;
-            }
+            return toEnum(formatter.formatCellValue(cell), fieldType);
         }
 
         // 1. String
@@ -129,8 +191,11 @@ public class ExcelUtils {
             return formatter.formatCellValue(cell);
         }
 
-        // 2. Integer
+        // 2. Integer (数值单元格取原始值，不受显示格式如 #,##0 的影响)
         if (fieldType == Integer.class || fieldType == int.class) {
+            if (cell.getCellType() == CellType.NUMERIC) {
+                return new BigDecimal(NumberToTextConverter.toText(cell.getNumericCellValue())).intValueExact();
+            }
             String val = formatter.formatCellValue(cell);
             return (val == null || val.isEmpty()) ? null : Integer.parseInt(val);
         }
@@ -146,6 +211,9 @@ public class ExcelUtils {
 
         // 4. BigDecimal
         if (fieldType == BigDecimal.class) {
+            if (cell.getCellType() == CellType.NUMERIC) {
+                return new BigDecimal(NumberToTextConverter.toText(cell.getNumericCellValue()));
+            }
             String val = formatter.formatCellValue(cell);
             return (val == null || val.isEmpty()) ? null : new BigDecimal(val);
         }
@@ -160,6 +228,46 @@ public class ExcelUtils {
         return null;
     }
 
+    /**
+     * 文本值类型转换逻辑 (用于流式读取得到的格式化文本，规则与 convertCellValue 保持一致)
+     * 日期需为 {@link ExcelStreamReader#ISO_DATE_PATTERN} 格式 (读取器开启 isoDateFormat)
+     *
+     * @param text    单元格显示文本
+     * @param numeric 数值单元格的原始值 (非数值单元格为 null)，数字类型字段优先使用，与 convertCellValue 一样不受显示格式影响
+     */
+    static Object convertTextValue(String text, String numeric, Class<?> fieldType) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+
+        if (fieldType.isEnum()) {
+            return toEnum(text, fieldType);
+        }
+
+        if (fieldType == String.class) {
+            return text;
+        }
+        String number = numeric != null ? numeric : text;
+        if (fieldType == Integer.class || fieldType == int.class) {
+            return numeric != null ? new BigDecimal(numeric).intValueExact() : Integer.parseInt(text);
+        }
+        if (fieldType == Double.class || fieldType == double.class) {
+            return Double.parseDouble(number);
+        }
+        if (fieldType == BigDecimal.class) {
+            return new BigDecimal(number);
+        }
+        if (fieldType == Date.class) {
+            try {
+                return new SimpleDateFormat(ExcelStreamReader.ISO_DATE_PATTERN).parse(text);
+            } catch (ParseException e) {
+                return null; // 与 convertCellValue 一致：非日期单元格不转换
+            }
+        }
+
+        return null;
+    }
+
     /**
      * 将数据列表导出为 Workbook 对象
      *
@@ -0,0 +1,318 @@
+package com.fluckyeli.excel;
+
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.RichTextString;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 落盘的共享字符串表 (SST)
+ * <p>
+ * POI 的 ReadOnlySharedStringsTable 会把整个 SST 以 String 列表的形式放在堆上，
+ * ERP 导出的文件动辄数百万条不同的描述、编号，即使用事件模型读取也会 OOM。
+ * 本类流式解析 sharedStrings.xml，把字符串以 UTF-8 写入临时数据文件，同时写一个定长 (8 字节) 的偏移索引文件，
+ * 两者都以内存映射方式访问：堆占用与字符串数量无关，getItemAt 时才按需解码。
+ * <p>
+ * 使用完毕必须 close() 删除临时文件。非线程安全。
+ */
+class MappedSharedStrings implements SharedStrings, Closeable {
+
+    private static final String NS_SPREADSHEETML = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final long SEGMENT_SIZE = 1L << 30; // 单个映射段 1GB (MappedByteBuffer 上限为 2GB)
+
+    private final Path dataFile;
+    private final Path offsetFile;
+    private final FileChannel dataChannel;
+    private final MappedByteBuffer[] dataSegments;
+    private final MappedByteBuffer[] offsetSegments;
+    private final int uniqueCount;
+    private final int count;
+
+    /**
+     * @param sharedStringsData sharedStrings.xml 的输入流 (调用者负责关闭)
+     */
+    MappedSharedStrings(InputStream sharedStringsData) throws IOException {
+        this.dataFile = Files.createTempFile("sst-data-", ".bin");
+        this.offsetFile = Files.createTempFile("sst-offset-", ".bin");
+        try {
+            SpillHandler spill = new SpillHandler(dataFile, offsetFile);
+            try {
+                if (sharedStringsData != null) {
+                    XMLReader xmlReader = XMLHelper.newXMLReader();
+                    xmlReader.setContentHandler(spill);
+                    xmlReader.parse(new InputSource(sharedStringsData));
+                }
+            } finally {
+                spill.finish();
+            }
+            this.uniqueCount = spill.uniqueCount;
+            this.count = spill.count > 0 ? spill.count : spill.uniqueCount;
+
+            this.dataChannel = FileChannel.open(dataFile, StandardOpenOption.READ);
+            this.dataSegments = map(dataChannel);
+            try (FileChannel offsetChannel = FileChannel.open(offsetFile, StandardOpenOption.READ)) {
+                this.offsetSegments = map(offsetChannel); // 映射建立后即可关闭通道
+            }
+        } catch (IOException e) {
+            deleteQuietly();
+            throw e;
+        } catch (Exception e) {
+            deleteQuietly();
+            throw new IOException("共享字符串表落盘失败", e);
+        }
+    }
+
+    @Override
+    public RichTextString getItemAt(int idx) {
+        long start = offsetAt(idx);
+        int length = (int) (offsetAt(idx + 1) - start);
+        return new PlainRichTextString(decode(start, length));
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getUniqueCount() {
+        return uniqueCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataChannel.close();
+        deleteQuietly();
+    }
+
+    // --- 映射访问 ---
+
+    private long offsetAt(int idx) {
+        long position = (long) idx * Long.BYTES;
+        MappedByteBuffer segment = offsetSegments[(int) (position / SEGMENT_SIZE)];
+        return segment.getLong((int) (position % SEGMENT_SIZE)); // 段大小为 8 的倍数，不会跨段
+    }
+
+    private String decode(long start, int length) {
+        if (length == 0) return "";
+        MappedByteBuffer segment = dataSegments[(int) (start / SEGMENT_SIZE)];
+        int position = (int) (start % SEGMENT_SIZE);
+
+        byte[] bytes = new byte[length];
+        if (position + length <= segment.limit()) {
+            segment.get(position, bytes);
+        } else {
+            // 极少数跨越映射段边界的字符串，直接从文件读取
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    if (dataChannel.read(buffer, start + buffer.position()) < 0) break;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取共享字符串失败", e);
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int segments = (int) Math.max(1, (size + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        MappedByteBuffer[] buffers = new MappedByteBuffer[segments];
+        for (int i = 0; i < segments; i++) {
+            long position = i * SEGMENT_SIZE;
+            buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+        }
+        return buffers;
+    }
+
+    private void deleteQuietly() {
+        try {
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(offsetFile);
+        } catch (IOException e) {
+            System.err.println("删除共享字符串临时文件失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 流式解析 sharedStrings.xml：每个 &lt;si&gt; 拼接其中 &lt;t&gt; 的文本 (忽略注音 &lt;rPh&gt;) 后立即写盘
+     */
+    private static class SpillHandler extends DefaultHandler {
+        private static final Pattern ESCAPE_PATTERN = Pattern.compile("_x([0-9A-Fa-f]{4})_");
+
+        private final DataOutputStream data;
+        private final DataOutputStream offsets;
+        private final StringBuilder text = new StringBuilder();
+        private long position = 0;
+        private int uniqueCount = 0;
+        private int count = 0;
+        private boolean inText = false;
+        private boolean inPhonetic = false;
+
+        SpillHandler(Path dataFile, Path offsetFile) throws IOException {
+            this.data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dataFile), 64 * 1024));
+            this.offsets = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(offsetFile), 64 * 1024));
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (uri != null && !uri.equals(NS_SPREADSHEETML)) return;
+            switch (localName) {
+                case "sst":
+                    String countAttr = attributes.getValue("count");
+                    if (countAttr != null) count = Integer.parseInt(countAttr);
+                    break;
+                case "si":
+                    text.setLength(0);
+                    break;
+                case "t":
+                    inText = !inPhonetic;
+                    break;
+                case "rPh":
+                    inPhonetic = true;
+                    break;
+                default:
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (uri != null && !uri.equals(NS_SPREADSHEETML)) return;
+            switch (localName) {
+                case "si":
+                    writeItem();
+                    break;
+                case "t":
+                    inText = false;
+                    break;
+                case "rPh":
+                    inPhonetic = false;
+                    break;
+                default:
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) text.append(ch, start, length);
+        }
+
+        private void writeItem() {
+            try {
+                offsets.writeLong(position);
+                byte[] bytes = decodeEscapes(text).getBytes(StandardCharsets.UTF_8);
+                data.write(bytes);
+                position += bytes.length;
+                uniqueCount++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 还原 OOXML 对控制字符等的转义 (如 _x000D_ 表示 \r)，与 XSSFRichTextString.getString() 的结果一致
+         */
+        static String decodeEscapes(CharSequence value) {
+            String text = value.toString();
+            if (text.indexOf("_x") < 0) return text;
+
+            Matcher matcher = ESCAPE_PATTERN.matcher(text);
+            StringBuilder sb = new StringBuilder(text.length());
+            int last = 0;
+            while (matcher.find()) {
+                sb.append(text, last, matcher.start());
+                sb.append((char) Integer.parseInt(matcher.group(1), 16));
+                last = matcher.end();
+            }
+            return sb.append(text, last, text.length()).toString();
+        }
+
+        /**
+         * 写入结尾哨兵偏移，使第 i 个字符串的长度 = offset[i + 1] - offset[i]
+         */
+        void finish() throws IOException {
+            try {
+                offsets.writeLong(position);
+            } finally {
+                data.close();
+                offsets.close();
+            }
+        }
+    }
+
+    /**
+     * 只承载纯文本的 RichTextString，避免为每次查找创建 XSSFRichTextString (及其 XmlBeans 对象)
+     */
+    private static class PlainRichTextString implements RichTextString {
+        private final String text;
+
+        PlainRichTextString(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String getString() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public int numFormattingRuns() {
+            return 0;
+        }
+
+        @Override
+        public int getIndexOfFormattingRun(int index) {
+            return 0;
+        }
+
+        @Override
+        public void applyFont(int startIndex, int endIndex, short fontIndex) {
+            throw new UnsupportedOperationException("只读字符串");
+        }
+
+        @Override
+        public void applyFont(int startIndex, int endIndex, Font font) {
+            throw new UnsupportedOperationException("只读字符串");
+        }
+
+        @Override
+        public void applyFont(Font font) {
+            throw new UnsupportedOperationException("只读字符串");
+        }
+
+        @Override
+        public void applyFont(short fontIndex) {
+            throw new UnsupportedOperationException("只读字符串");
+        }
+
+        @Override
+        public void clearFormatting() {
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.fluckyeli.excel;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 可断点续传的 Excel 导入：按批次回调 Bean，每个批次提交后把进度写入本地检查点文件
+ * <p>
+ * 进程中途退出 (OOM、Pod 被驱逐等) 后用同样的参数重新执行即可继续：
+ * <ul>
+ *     <li>检查点记录源文件指纹、最后提交的行号、批次序号，以及行偏移索引的一个索引项；</li>
+ *     <li>重启时只解压不解析地跳到断点附近 (见 {@link RowOffsetIndex})，已提交的行不会再被转换或回调；</li>
+ *     <li>导入完成后检查点标记为已完成，再次执行直接返回；删除检查点文件即可重新导入。</li>
+ * </ul>
+ * 批次回调返回即视为已提交，随后才写检查点。若进程恰好在两者之间退出，该批次会在重启后以相同的序号再次回调，
+ * 对此敏感的调用方可以把 batchSeq 与数据写在同一个事务里，据此去重。
+ * 表头取第 0 行，映射规则与 {@link ExcelUtils#parse} 相同。仅支持 .xlsx。
+ *
+ * <pre>
+ * ResumableExcelImporter&lt;Order&gt; importer = new ResumableExcelImporter&lt;&gt;(Order.class, new File("orders.xlsx.ckpt"));
+ * importer.setBatchSize(2000);
+ * importer.load(new File("orders.xlsx"), (batch, batchSeq) -&gt; orderDao.insertAndCommit(batch));
+ * </pre>
+ *
+ * @param <T> 映射的 Bean 类型
+ */
+@Getter
+@Setter
+public class ResumableExcelImporter<T> {
+
+    private final Class<T> clazz;
+    private final File checkpointFile;
+
+    /**
+     * 数据起始行（0-based，数据从第1行开始则填1）
+     */
+    private int startRow = 1;
+    /**
+     * 每批回调的对象数，同时也是写检查点的间隔
+     */
+    private int batchSize = 1000;
+    /**
+     * 是否将共享字符串表落盘 (见 {@link ExcelStreamReader#setSpillSharedStrings})
+     */
+    private boolean spillSharedStrings = false;
+    /**
+     * 行偏移索引的间隔，重启时最多需要重新解析 (但不转换) 这么多行
+     */
+    private int indexStride = RowOffsetIndex.DEFAULT_STRIDE;
+
+    /**
+     * @param clazz          映射的 Bean 类
+     * @param checkpointFile 检查点文件 (同目录下会临时生成 .tmp 文件)
+     */
+    public ResumableExcelImporter(Class<T> clazz, File checkpointFile) {
+        this.clazz = clazz;
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * 批次回调
+     */
+    @FunctionalInterface
+    public interface BatchConsumer<T> {
+        /**
+         * 处理并提交一批数据，正常返回即视为已提交；抛出异常则导入中止，该批次下次重新回调
+         *
+         * @param batch    本批对象
+         * @param batchSeq 批次序号，从 1 开始，续传时接着上次的序号
+         */
+        void accept(List<T> batch, long batchSeq) throws Exception;
+    }
+
+    /**
+     * 导入 xlsx 文件，存在检查点时从断点继续
+     *
+     * @param file     xlsx 文件
+     * @param consumer 批次回调
+     * @return 本次回调的对象数
+     */
+    public long load(File file, BatchConsumer<T> consumer) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于 0");
+        }
+
+        String fingerprint = ExcelCheckpoint.fingerprint(file);
+        ExcelCheckpoint checkpoint = ExcelCheckpoint.load(checkpointFile);
+        if (checkpoint == null) {
+            checkpoint = new ExcelCheckpoint();
+            checkpoint.fingerprint = fingerprint;
+        } else if (!fingerprint.equals(checkpoint.fingerprint)) {
+            throw new IllegalStateException("检查点 " + checkpointFile + " 与文件 " + file + " 不匹配，如需重新导入请删除检查点文件。");
+        }
+        if (checkpoint.finished) return 0;
+
+        RowOffsetIndex index = new RowOffsetIndex(indexStride);
+        if (checkpoint.seekOffset >= 0 && checkpoint.prefix != null) {
+            index.restore(checkpoint.seekRow, checkpoint.seekOffset, checkpoint.prefix);
+        }
+
+        ExcelStreamReader reader = new ExcelStreamReader();
+        reader.setIsoDateFormat(true); // 便于转换为 Date 字段
+        reader.setSpillSharedStrings(spillSharedStrings);
+
+        BatchDelivery delivery = new BatchDelivery(checkpoint, index, consumer);
+        reader.setColumnFilter(col -> delivery.mapper == null || delivery.mapper.isMapped(col));
+        reader.read(file, index, delivery.fromRow, delivery);
+        delivery.finish();
+        return delivery.deliveredCount;
+    }
+
+    /**
+     * 读取线程上的行回调：跳过已提交的行，按 batchSize 攒批回调并写检查点
+     */
+    private class BatchDelivery implements ExcelStreamReader.RawRowHandler {
+        private final ExcelCheckpoint checkpoint;
+        private final RowOffsetIndex index;
+        private final BatchConsumer<T> consumer;
+        private final int fromRow;
+        private BeanRowMapper<T> mapper;
+        private List<T> batch = new ArrayList<>(batchSize);
+        private int lastRow = -1;
+        private long deliveredCount = 0;
+
+        BatchDelivery(ExcelCheckpoint checkpoint, RowOffsetIndex index, BatchConsumer<T> consumer) {
+            this.checkpoint = checkpoint;
+            this.index = index;
+            this.consumer = consumer;
+            this.fromRow = Math.max(startRow, checkpoint.lastRow + 1);
+            if (checkpoint.header != null) {
+                mapper = new BeanRowMapper<>(clazz, checkpoint.header);
+            }
+        }
+
+        @Override
+        public boolean onRow(int rowNum, String[] values, String[] numericValues) {
+            if (mapper == null) {
+                String[] header = rowNum == 0 ? values : new String[0];
+                checkpoint.header = header;
+                mapper = new BeanRowMapper<>(clazz, header);
+            }
+            if (rowNum < fromRow) return true; // 已提交或在起始行之前，不做转换
+
+            try {
+                T instance = mapper.map(values, numericValues);
+                if (instance != null) batch.add(instance);
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Excel 解析失败", e);
+            }
+            lastRow = rowNum;
+            if (batch.size() >= batchSize) deliver();
+            return true;
+        }
+
+        void finish() {
+            if (!batch.isEmpty()) deliver();
+            checkpoint.finished = true;
+            checkpoint.save(checkpointFile);
+        }
+
+        private void deliver() {
+            long batchSeq = checkpoint.batchSeq + 1;
+            try {
+                consumer.accept(batch, batchSeq);
+            } catch (Exception e) {
+                throw new RuntimeException("Excel 导入失败，已提交到第 " + checkpoint.lastRow + " 行", e);
+            }
+            deliveredCount += batch.size();
+            batch = new ArrayList<>(batchSize);
+
+            checkpoint.lastRow = lastRow;
+            checkpoint.batchSeq = batchSeq;
+            checkpoint.seekTo(index.floor(lastRow + 1), index.prefix());
+            checkpoint.save(checkpointFile);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.fluckyeli.excel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sheet 行偏移索引：每隔 stride 行记录一次 &lt;row&gt; 标签在解压后 sheet XML 中的字节偏移
+ * <p>
+ * zip 中的 deflate 数据无法随机访问，但借助索引，后续读取可以只解压 (skip) 而不做 XML 解析与单元格格式化，
+ * 直接跳到目标行附近，再拼接上原始文档开头 (到第一个 &lt;row&gt; 之前) 的字节继续 SAX 解析。
+ * 索引在读取过程中顺带建立，内存占用为 行数 / stride 个条目。线程安全。
+ * <p>
+ * 限制：使用带命名空间前缀的 &lt;x:row&gt; 或缺少 r 属性的行时，索引不会生效，退化为从头读取。
+ */
+class RowOffsetIndex {
+
+    static final int DEFAULT_STRIDE = 1000;
+
+    /**
+     * 文档开头超过此大小 (例如巨量的列宽定义) 时放弃建立索引
+     */
+    private static final int MAX_PREFIX_SIZE = 64 * 1024;
+
+    private final int stride;
+    private final TreeMap<Integer, Long> offsets = new TreeMap<>();
+    private byte[] prefix;
+    private boolean disabled;
+
+    RowOffsetIndex(int stride) {
+        this.stride = stride;
+    }
+
+    /**
+     * 查找行号不大于 rowNum 的最近索引项
+     *
+     * @return 没有可用索引时返回 null
+     */
+    synchronized Map.Entry<Integer, Long> floor(int rowNum) {
+        if (prefix == null || disabled) return null;
+        Map.Entry<Integer, Long> entry = offsets.floorEntry(rowNum);
+        return entry == null || entry.getKey() == 0 ? null : entry;
+    }
+
+    synchronized byte[] prefix() {
+        return prefix;
+    }
+
+    /**
+     * 恢复此前 (例如上一个进程) 记录的索引项，使本次读取可以直接跳转
+     */
+    synchronized void restore(int rowNum, long offset, byte[] documentPrefix) {
+        if (prefix == null) prefix = documentPrefix;
+        offsets.put(rowNum, offset);
+    }
+
+    private synchronized void record(int rowNum, long offset) {
+        if (disabled) return;
+        Map.Entry<Integer, Long> previous = offsets.floorEntry(rowNum);
+        if (previous == null || rowNum - previous.getKey() >= stride) {
+            offsets.put(rowNum, offset);
+        }
+    }
+
+    private synchronized void setPrefix(byte[] bytes) {
+        if (prefix == null) prefix = bytes;
+    }
+
+    private synchronized void disable() {
+        disabled = true;
+        offsets.clear();
+    }
+
+    /**
+     * 包装 sheet XML 流，一边透传字节一边扫描 &lt;row 标签的偏移
+     *
+     * @param startOffset 输入流第一个字节在原始 sheet XML 中的偏移
+     */
+    Recorder wrap(InputStream sheetStream, long startOffset) {
+        return new Recorder(sheetStream, startOffset);
+    }
+
+    /**
+     * 扫描器：扫描在 SAX 解析之前 (缓冲区预读)，因此先把偏移放入队列，
+     * 等 SAX 回调 startRow 时再按顺序与行号配对
+     */
+    class Recorder extends FilterInputStream {
+        private static final byte[] ROW_TAG = {'<', 'r', 'o', 'w'};
+
+        private final ArrayDeque<Long> pending = new ArrayDeque<>();
+        private ByteArrayOutputStream prefixBuffer;
+        private long position;
+        private int matched; // 已匹配的 ROW_TAG 字节数，4 表示还需检查下一个字节
+        private boolean inRowTag; // 正在扫描 <row 标签的属性
+        private int attrMatched; // 属性中已匹配的 " r=" 字节数 (1 表示空白)
+        private boolean rowNumbered; // 当前 <row 标签带有 r 属性
+
+        private Recorder(InputStream in, long startOffset) {
+            super(in);
+            this.position = startOffset;
+            if (startOffset == 0 && prefix() == null) {
+                prefixBuffer = new ByteArrayOutputStream(4096);
+            }
+        }
+
+        /**
+         * SAX 开始处理一行时调用
+         */
+        void onRowStart(int rowNum) {
+            Long offset = pending.poll();
+            if (offset != null) record(rowNum, offset);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) scan((byte) b);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            for (int i = 0; i < n; i++) {
+                scan(buffer[off + i]);
+            }
+            return n;
+        }
+
+        private void scan(byte b) {
+            if (inRowTag) scanRowAttributes(b);
+            if (prefixBuffer != null) {
+                prefixBuffer.write(b);
+                if (prefixBuffer.size() > MAX_PREFIX_SIZE) {
+                    prefixBuffer = null;
+                    disable();
+                }
+            }
+
+            if (matched == ROW_TAG.length) {
+                matched = 0;
+                if (b == ' ' || b == '>' || b == '\t' || b == '\r' || b == '\n') {
+                    long tagOffset = position - ROW_TAG.length;
+                    pending.add(tagOffset);
+                    inRowTag = true;
+                    rowNumbered = false;
+                    attrMatched = 0;
+                    scanRowAttributes(b);
+                    if (prefixBuffer != null) {
+                        // 文档开头 = 第一个 <row 之前的所有字节
+                        byte[] bytes = prefixBuffer.toByteArray();
+                        setPrefix(Arrays.copyOf(bytes, bytes.length - ROW_TAG.length - 1));
+                        prefixBuffer = null;
+                    }
+                }
+            }
+            if (matched < ROW_TAG.length) {
+                if (b == ROW_TAG[matched]) {
+                    matched++;
+                } else {
+                    matched = b == ROW_TAG[0] ? 1 : 0;
+                }
+            }
+            position++;
+        }
+
+        /**
+         * 检查 &lt;row 标签是否带有 r 属性：没有行号时 SAX 按出现顺序编号，跳转后行号会从头计数，索引只能停用
+         */
+        private void scanRowAttributes(byte b) {
+            if (b == '>') {
+                inRowTag = false;
+                if (!rowNumbered) disable();
+            } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                attrMatched = 1;
+            } else if (attrMatched == 1 && b == 'r') {
+                attrMatched = 2;
+            } else if (attrMatched == 2 && b == '=') {
+                rowNumbered = true;
+                attrMatched = 0;
+            } else {
+                attrMatched = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.fluckyeli.excel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 有界的字符串字典：相同内容返回同一个规范实例，用于低基数列去重
+ * <p>
+ * 不同取值超过 maxSize 时说明该列并非低基数，字典自动停用并释放，之后原样返回，避免字典本身成为内存负担。
+ * AUTO 模式下先采样 PROBE_SIZE 个值，不同取值占比超过 1/4 同样停用。
+ * 非线程安全，每次解析各自创建。
+ */
+class StringDictionary {
+
+    static final int DEFAULT_MAX_SIZE = 4096;
+    static final int PROBE_SIZE = 1024;
+
+    private final int maxSize;
+    private Map<String, String> values = new HashMap<>();
+    private int probeRemaining; // > 0 表示仍在采样阶段
+
+    private StringDictionary(int maxSize, int probeSize) {
+        this.maxSize = maxSize;
+        this.probeRemaining = probeSize;
+    }
+
+    /**
+     * 按注解配置创建字典，NONE 返回 null
+     */
+    static StringDictionary of(ExcelColumn.Dictionary mode) {
+        switch (mode) {
+            case ALWAYS:
+                return new StringDictionary(DEFAULT_MAX_SIZE, 0);
+            case AUTO:
+                return new StringDictionary(DEFAULT_MAX_SIZE, PROBE_SIZE);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 返回与 value 内容相同的规范实例；字典已停用时原样返回
+     */
+    String canonicalize(String value) {
+        if (values == null || value == null) return value;
+
+        String canonical = values.putIfAbsent(value, value);
+        if (canonical == null) {
+            canonical = value;
+            if (values.size() > maxSize) {
+                values = null; // 基数过高，停用
+                return value;
+            }
+        }
+
+        if (probeRemaining > 0 && --probeRemaining == 0 && values.size() > PROBE_SIZE / 4) {
+            values = null; // 采样结果：重复率不足，停用
+        }
+        return canonical;
+    }
+}
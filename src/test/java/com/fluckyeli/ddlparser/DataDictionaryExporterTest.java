@@ -0,0 +1,154 @@
+package com.fluckyeli.ddlparser;
+
+import com.alibaba.druid.DbType;
+import junit.framework.TestCase;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DataDictionaryExporter 导出结果测试：写出后用 XSSFWorkbook 读回校验
+ */
+public class DataDictionaryExporterTest extends TestCase {
+
+    private static final String SCRIPT = "CREATE TABLE ods.t_order (id BIGINT PRIMARY KEY COMMENT '主键', amount DECIMAL(12, 2));\n"
+            + "CREATE TABLE dwd.t_user (id BIGINT, name VARCHAR(20) COMMENT '姓名', mobile VARCHAR(20));\n"
+            + "CREATE TABLE ODS.t_item (id INT, sku VARCHAR(32));\n"
+            + "CREATE TABLE `o'brien`.t_note (id INT, content TEXT);\n"
+            + "CREATE TABLE t_plain (id INT);\n";
+
+    private static final Pattern LINK = Pattern.compile("HYPERLINK\\(\"#'((?:[^']|'')+)'!A(\\d+)\",\"((?:[^\"]|\"\")*)\"\\)");
+
+    public void testSheetsPerSchema() throws Exception {
+        try (XSSFWorkbook workbook = export()) {
+            List<String> names = new ArrayList<>();
+            for (Sheet sheet : workbook) {
+                names.add(sheet.getSheetName());
+            }
+            // ods 与 ODS 是不同的 Schema，但 Sheet 名称不区分大小写，第二个追加序号
+            assertEquals("[目录, ods, dwd, ODS~2, o'brien, default]", names.toString());
+            assertEquals(5, workbook.getSheet("目录").getLastRowNum());
+        }
+    }
+
+    /**
+     * 表名与 Sheet 名中的引号在 HYPERLINK 公式中正确转义
+     */
+    public void testHyperlinkQuoting() throws Exception {
+        try (XSSFWorkbook workbook = export()) {
+            Sheet summary = workbook.getSheet("目录");
+            assertEquals("HYPERLINK(\"#'ods'!A1\",\"t_order\")", summary.getRow(1).getCell(2).getCellFormula());
+            assertEquals("HYPERLINK(\"#'o''brien'!A1\",\"t_note\")", summary.getRow(4).getCell(2).getCellFormula());
+            assertEquals("HYPERLINK(\"#'目录'!A4\",\"返回目录\")",
+                    workbook.getSheet("ODS~2").getRow(0).getCell(5).getCellFormula());
+        }
+
+        // 解析器会去掉标识符中的引号，这里直接写入带双引号的表名
+        TableMeta quoted = new TableMeta();
+        quoted.setSchema("o'brien");
+        quoted.setTableName("t\"quote");
+        quoted.setDbType(DbType.mysql.name());
+        quoted.setColumns(Collections.singletonList(new ColumnMeta("id", "INT", null, true)));
+        quoted.setPartitionColumns(new ArrayList<>());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DataDictionaryExporter exporter = new DataDictionaryExporter()) {
+            exporter.accept(quoted);
+            exporter.write(out);
+        }
+        try (XSSFWorkbook workbook = read(out)) {
+            assertEquals("HYPERLINK(\"#'o''brien'!A1\",\"t\"\"quote\")",
+                    workbook.getSheet("目录").getRow(1).getCell(2).getCellFormula());
+        }
+    }
+
+    /**
+     * 目录中的每个链接指向明细表块的标题行，表块的列行数与目录中的列数一致
+     */
+    public void testDetailRowsMatchSummary() throws Exception {
+        try (XSSFWorkbook workbook = export()) {
+            Sheet summary = workbook.getSheet("目录");
+            for (int r = 1; r <= summary.getLastRowNum(); r++) {
+                Row row = summary.getRow(r);
+                Matcher link = LINK.matcher(row.getCell(2).getCellFormula());
+                assertTrue(row.getCell(2).getCellFormula(), link.matches());
+
+                Sheet detail = workbook.getSheet(link.group(1).replace("''", "'"));
+                int titleRow = Integer.parseInt(link.group(2)) - 1;
+                String tableName = link.group(3).replace("\"\"", "\"");
+                String schema = row.getCell(1).getStringCellValue();
+                String title = detail.getRow(titleRow).getCell(0).getStringCellValue();
+                assertEquals("default".equals(schema) ? tableName : schema + "." + tableName, title);
+
+                int columnRows = 0;
+                for (int i = titleRow + 2; detail.getRow(i) != null; i++) {
+                    assertEquals(columnRows + 1, (int) detail.getRow(i).getCell(0).getNumericCellValue());
+                    columnRows++;
+                }
+                assertEquals(title, (int) row.getCell(3).getNumericCellValue(), columnRows);
+            }
+        }
+    }
+
+    /**
+     * 流式回调与先解析为 List 再逐个写入的结果一致
+     */
+    public void testStreamingMatchesList() throws Exception {
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        try (DataDictionaryExporter exporter = new DataDictionaryExporter()) {
+            assertEquals(5, GenericDdlParserUtils.parseMultiCreateTable(SCRIPT, DbType.mysql, exporter));
+            exporter.write(streamed);
+        }
+
+        ByteArrayOutputStream listed = new ByteArrayOutputStream();
+        try (DataDictionaryExporter exporter = new DataDictionaryExporter()) {
+            List<TableMeta> tables = GenericDdlParserUtils.parseMultiCreateTable(SCRIPT, DbType.mysql);
+            assertEquals(5, tables.size());
+            tables.forEach(exporter);
+            exporter.write(listed);
+        }
+
+        try (XSSFWorkbook expected = read(listed); XSSFWorkbook actual = read(streamed)) {
+            assertEquals(dump(expected), dump(actual));
+        }
+    }
+
+    // --- 辅助方法 ---
+
+    private static XSSFWorkbook export() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(5, DataDictionaryExporter.export(SCRIPT, DbType.mysql, out));
+        return read(out);
+    }
+
+    private static XSSFWorkbook read(ByteArrayOutputStream out) throws Exception {
+        return new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    /**
+     * 工作簿内容的文本形式：Sheet 名称、每个单元格的值或公式
+     */
+    private static String dump(XSSFWorkbook workbook) {
+        StringBuilder sb = new StringBuilder();
+        for (Sheet sheet : workbook) {
+            sb.append('[').append(sheet.getSheetName()).append("]\n");
+            for (Row row : sheet) {
+                sb.append(row.getRowNum()).append(':');
+                for (Cell cell : row) {
+                    sb.append(cell.getCellType() == CellType.FORMULA ? cell.getCellFormula() : cell.toString()).append('|');
+                }
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.fluckyeli.ddlparser;
+
+import com.alibaba.druid.DbType;
+import junit.framework.TestCase;
+
+/**
+ * DdlTranslator 类型映射与建表语句测试
+ */
+public class DdlTranslatorTest extends TestCase {
+
+    public void testUnsignedIntegersAreWidened() {
+        assertEquals("smallint", DdlTranslator.translateType("tinyint(3) unsigned", DbType.mysql, DbType.mysql));
+        assertEquals("int", DdlTranslator.translateType("SMALLINT UNSIGNED", DbType.mysql, DbType.mysql));
+        assertEquals("BIGINT", DdlTranslator.translateType("int UNSIGNED", DbType.mysql, DbType.hive));
+        assertEquals("bigint", DdlTranslator.translateType("int(10) unsigned zerofill", DbType.mysql, DbType.postgresql));
+        assertEquals("DECIMAL(20,0)", DdlTranslator.translateType("bigint(20) UNSIGNED", DbType.mysql, DbType.hive));
+        assertEquals("numeric(20,0)", DdlTranslator.translateType("bigint unsigned", DbType.mysql, DbType.postgresql));
+        assertEquals("decimal(10,2)", DdlTranslator.translateType("decimal(10,2) unsigned", DbType.mysql, DbType.mysql));
+        assertEquals("NUMBER(20,0)", DdlTranslator.translateType("UInt64", DbType.clickhouse, DbType.oracle));
+        assertEquals("int", DdlTranslator.translateType("Nullable(UInt16)", DbType.clickhouse, DbType.mysql));
+    }
+
+    public void testEnumSetAndYear() {
+        assertEquals("varchar(7)", DdlTranslator.translateType("enum('a', 'b', 'pending')", DbType.mysql, DbType.mysql));
+        assertEquals("VARCHAR2(4)", DdlTranslator.translateType("ENUM('it''s', 'x')", DbType.mysql, DbType.oracle));
+        assertEquals("varchar(6)", DdlTranslator.translateType("set('a', 'bc', 'd')", DbType.mysql, DbType.postgresql));
+        assertEquals("STRING", DdlTranslator.translateType("enum('a,b', 'c')", DbType.mysql, DbType.hive));
+        assertEquals("SMALLINT", DdlTranslator.translateType("year", DbType.mysql, DbType.hive));
+        assertEquals("smallint", DdlTranslator.translateType("YEAR(4)", DbType.mysql, DbType.postgresql));
+    }
+
+    public void testUnknownTypes() {
+        try {
+            DdlTranslator.translateType("geometry", DbType.mysql, DbType.hive);
+            fail("无法识别的类型不应原样输出到其它方言");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("geometry"));
+        }
+        // 同一方言族内原样保留
+        assertEquals("geometry", DdlTranslator.translateType("geometry", DbType.mysql, DbType.mysql));
+        assertEquals("MAP<STRING, BIGINT>", DdlTranslator.translateType("MAP<STRING, BIGINT>", DbType.hive, DbType.odps));
+    }
+
+    public void testOracleNumber() {
+        assertEquals("int", DdlTranslator.translateType("NUMBER(9)", DbType.oracle, DbType.mysql));
+        assertEquals("bigint", DdlTranslator.translateType("NUMBER(18, 0)", DbType.oracle, DbType.mysql));
+        assertEquals("decimal(38,0)", DdlTranslator.translateType("NUMBER(*, 0)", DbType.oracle, DbType.mysql));
+        assertEquals("DECIMAL(38,0)", DdlTranslator.translateType("number(*,0)", DbType.oracle, DbType.hive));
+        assertEquals("decimal(12,2)", DdlTranslator.translateType("NUMBER(12, 2)", DbType.oracle, DbType.mysql));
+    }
+
+    public void testFractionalSecondPrecisionIsClamped() {
+        assertEquals("datetime(6)", DdlTranslator.translateType("TIMESTAMP(9)", DbType.oracle, DbType.mysql));
+        assertEquals("timestamp(6)", DdlTranslator.translateType("TIMESTAMP(9)", DbType.oracle, DbType.postgresql));
+        assertEquals("TIMESTAMP(9)", DdlTranslator.translateType("TIMESTAMP(9)", DbType.oracle, DbType.oracle));
+        assertEquals("datetime(3)", DdlTranslator.translateType("timestamp(3)", DbType.postgresql, DbType.mysql));
+        assertEquals("time(6)", DdlTranslator.translateType("time(7)", DbType.mysql, DbType.mysql));
+    }
+
+    public void testOversizedCharTypesBecomeText() {
+        assertEquals("CLOB", DdlTranslator.translateType("varchar(20000)", DbType.postgresql, DbType.oracle));
+        assertEquals("VARCHAR2(4000)", DdlTranslator.translateType("varchar(4000)", DbType.postgresql, DbType.oracle));
+        assertEquals("CLOB", DdlTranslator.translateType("char(2001)", DbType.postgresql, DbType.oracle));
+        assertEquals("longtext", DdlTranslator.translateType("varchar(100000)", DbType.postgresql, DbType.mysql));
+        assertEquals("varchar(16383)", DdlTranslator.translateType("VARCHAR2(16383)", DbType.oracle, DbType.mysql));
+        assertEquals("longtext", DdlTranslator.translateType("char(500)", DbType.postgresql, DbType.mysql));
+        assertEquals("char(255)", DdlTranslator.translateType("CHAR(255)", DbType.oracle, DbType.mysql));
+        assertEquals("text", DdlTranslator.translateType("varchar(20000000)", DbType.mysql, DbType.postgresql));
+        assertEquals("STRING", DdlTranslator.translateType("varchar(100000)", DbType.mysql, DbType.hive));
+    }
+
+    public void testIdentifiersAreQuoted() {
+        TableMeta table = GenericDdlParserUtils.parseCreateTable(
+                "CREATE TABLE shop.`order` (id BIGINT PRIMARY KEY COMMENT '主键', `desc` VARCHAR(50) COMMENT '描述', `group` INT)",
+                DbType.mysql);
+
+        String hive = DdlTranslator.toCreateTable(table, DbType.hive);
+        assertTrue(hive, hive.startsWith("CREATE TABLE `shop`.`order` ("));
+        assertTrue(hive, hive.contains("`desc` STRING COMMENT '描述'"));
+        assertTrue(hive, hive.contains("`group` INT"));
+
+        String mysql = DdlTranslator.toCreateTable(table, DbType.mysql);
+        assertTrue(mysql, mysql.contains("PRIMARY KEY (`id`)"));
+
+        String oracle = DdlTranslator.toCreateTable(table, DbType.oracle);
+        assertTrue(oracle, oracle.startsWith("CREATE TABLE \"SHOP\".\"ORDER\" ("));
+        assertTrue(oracle, oracle.contains("\"DESC\" VARCHAR2(50)"));
+        assertTrue(oracle, oracle.contains("COMMENT ON COLUMN \"SHOP\".\"ORDER\".\"DESC\" IS '描述';"));
+
+        String postgresql = DdlTranslator.toCreateTable(table, DbType.postgresql);
+        assertTrue(postgresql, postgresql.contains("\"group\" integer"));
+        assertTrue(postgresql, postgresql.contains("PRIMARY KEY (\"id\")"));
+    }
+
+    public void testPartitionColumns() {
+        TableMeta table = GenericDdlParserUtils.parseCreateTable(
+                "CREATE TABLE ods.t_log (id BIGINT COMMENT '日志ID', content STRING) PARTITIONED BY (dt STRING COMMENT '日期')",
+                DbType.odps);
+
+        String hive = DdlTranslator.toCreateTable(table, DbType.hive);
+        assertTrue(hive, hive.contains("PARTITIONED BY (`dt` STRING COMMENT '日期');"));
+
+        String mysql = DdlTranslator.toCreateTable(table, DbType.mysql);
+        assertTrue(mysql, mysql.contains("`dt` longtext COMMENT '日期'"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.fluckyeli.ddlparser;
+
+import com.alibaba.druid.DbType;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 快速路径与 Druid 完整解析的一致性测试
+ */
+public class FastCreateTableParserTest extends TestCase {
+
+    /**
+     * 快速路径可以识别的语句
+     */
+    private static final Object[][] FAST_PATH_CORPUS = {
+            {DbType.mysql, "CREATE TABLE t_user (id BIGINT(20) NOT NULL AUTO_INCREMENT COMMENT '主键', name VARCHAR(64) DEFAULT NULL COMMENT '姓名', "
+                    + "amount DECIMAL(10,2) NOT NULL DEFAULT '0.00', created_at DATETIME, PRIMARY KEY (id)) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表'"},
+            {DbType.mysql, "CREATE TABLE IF NOT EXISTS `shop`.`t_order` (`order_id` bigint NOT NULL, `user_id` int(11) NOT NULL, "
+                    + "`remark` text, CONSTRAINT pk_order PRIMARY KEY (`order_id`, `user_id`))"},
+            {DbType.mysql, "CREATE TABLE t_flag (id INT PRIMARY KEY, enabled TINYINT(1) DEFAULT 1, price DOUBLE)"},
+            {DbType.odps, "CREATE TABLE IF NOT EXISTS ods.t_log (id BIGINT COMMENT '日志ID', content STRING COMMENT '内容', cost DECIMAL(18, 4)) "
+                    + "COMMENT '日志表' PARTITIONED BY (dt STRING COMMENT '日期', hh STRING) LIFECYCLE 30"},
+            {DbType.odps, "CREATE TABLE dim_region (code STRING, name STRING, level BIGINT)"},
+            {DbType.hive, "CREATE TABLE dw.fact_sales (sale_id BIGINT COMMENT 'id', qty INT, amount DECIMAL(12,2)) "
+                    + "COMMENT 'sales' PARTITIONED BY (dt STRING) STORED AS ORC"},
+            {DbType.hive, "CREATE TABLE tmp_x (a STRING, b DOUBLE)"},
+            {DbType.oracle, "CREATE TABLE hr.emp (emp_id NUMBER(10, 0) NOT NULL, emp_name VARCHAR2(64), salary NUMBER(12, 2), hire_date DATE, "
+                    + "CONSTRAINT pk_emp PRIMARY KEY (emp_id))"},
+            {DbType.oracle, "CREATE TABLE \"HR\".\"DEPT\" (\"DEPT_NO\" NUMBER(4) PRIMARY KEY, \"DNAME\" VARCHAR2(14))"},
+    };
+
+    /**
+     * 快速路径不支持、必须回退到 Druid 的建表语句
+     */
+    private static final Object[][] FALLBACK_CORPUS = {
+            {DbType.mysql, "CREATE TABLE t_idx (id INT, name VARCHAR(20), KEY idx_name (name), UNIQUE KEY uk_id (id))"},
+            {DbType.mysql, "CREATE TABLE t_gen (a INT, b INT AS (a * 2))"},
+            {DbType.mysql, "CREATE TABLE t_unsigned (id BIGINT(20) UNSIGNED NOT NULL, PRIMARY KEY (id))"},
+            {DbType.hive, "CREATE EXTERNAL TABLE ods.ext_log (line STRING) PARTITIONED BY (dt STRING) "
+                    + "ROW FORMAT DELIMITED FIELDS TERMINATED BY '\\t' LOCATION '/data/log'"},
+            {DbType.oracle, "CREATE GLOBAL TEMPORARY TABLE tmp_session (id NUMBER(10), val VARCHAR2(100)) ON COMMIT DELETE ROWS"},
+            {DbType.mysql, "CREATE TABLE t_copy AS SELECT id, name FROM t_user"},
+    };
+
+    public void testFastPathMatchesDruid() {
+        for (Object[] testCase : FAST_PATH_CORPUS) {
+            DbType dbType = (DbType) testCase[0];
+            String ddl = (String) testCase[1];
+            TableMeta fast = FastCreateTableParser.parse(ddl, dbType);
+            assertNotNull("快速路径应当支持: " + ddl, fast);
+            assertSameMeta(ddl, GenericDdlParserUtils.parseCreateTable(ddl, dbType), fast);
+        }
+    }
+
+    public void testTableLevelPrimaryKey() {
+        TableMeta mysql = FastCreateTableParser.parse((String) FAST_PATH_CORPUS[1][1], DbType.mysql);
+        assertTrue(mysql.getColumns().get(0).isPrimaryKey());
+        assertTrue(mysql.getColumns().get(1).isPrimaryKey());
+        assertFalse(mysql.getColumns().get(2).isPrimaryKey());
+
+        TableMeta oracle = FastCreateTableParser.parse((String) FAST_PATH_CORPUS[7][1], DbType.oracle);
+        assertTrue(oracle.getColumns().get(0).isPrimaryKey());
+    }
+
+    public void testFallbackMatchesDruid() {
+        for (Object[] testCase : FALLBACK_CORPUS) {
+            DbType dbType = (DbType) testCase[0];
+            String ddl = (String) testCase[1];
+            assertNull("应当回退到 Druid: " + ddl, FastCreateTableParser.parse(ddl, dbType));
+
+            TableMeta druid = GenericDdlParserUtils.parseCreateTable(ddl, dbType);
+            assertNotNull("Druid 应当能解析: " + ddl, druid);
+            assertSameMeta(ddl, druid, GenericDdlParserUtils.parseCreateTableFast(ddl, dbType));
+        }
+    }
+
+    public void testMultiMatchesDruid() {
+        StringBuilder script = new StringBuilder();
+        for (Object[] testCase : FAST_PATH_CORPUS) {
+            if (testCase[0] == DbType.mysql) script.append(testCase[1]).append(";\n");
+        }
+        for (Object[] testCase : FALLBACK_CORPUS) {
+            if (testCase[0] == DbType.mysql) script.append(testCase[1]).append(";\n");
+        }
+        script.append("INSERT INTO t_user (id) VALUES (1);\n");
+        assertSameList(script.toString(), DbType.mysql);
+
+        // MySQL 的 # 注释：不能吞掉下一条语句，注释中的引号也不是字符串
+        String hashComment = "# header\nCREATE TABLE t1 (id INT);\nCREATE TABLE t2 (id INT);";
+        assertEquals(2, FastCreateTableParser.parseMulti(hashComment, DbType.mysql, tableMeta -> {
+        }));
+        assertSameList(hashComment, DbType.mysql);
+        assertSameList("# don't\nCREATE TABLE t1 (id INT # it's the key\n, name VARCHAR(20));\n"
+                + "CREATE TABLE t2 (id INT);", DbType.mysql);
+    }
+
+    /**
+     * 非建表的 CREATE 语句与 Druid 路径一样直接忽略，不回退解析、不输出错误
+     */
+    public void testNonTableCreateStatementsAreSkippedSilently() {
+        String script = "CREATE TABLE t_a (id INT, name VARCHAR(20));\n"
+                + "CREATE INDEX idx_a_name ON t_a (name);\n"
+                + "CREATE UNIQUE INDEX uk_a_id ON t_a (id);\n"
+                + "CREATE VIEW v_a AS SELECT id, name FROM t_a;\n"
+                + "CREATE TABLE t_b (id INT, a_id INT, KEY idx_a (a_id));\n";
+
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        List<TableMeta> tables = new ArrayList<>();
+        try {
+            assertEquals(2, FastCreateTableParser.parseMulti(script, DbType.mysql, tables::add));
+        } finally {
+            System.setErr(originalErr);
+        }
+        assertEquals("", err.toString(StandardCharsets.UTF_8));
+        assertEquals("t_a", tables.get(0).getTableName());
+        assertEquals("t_b", tables.get(1).getTableName());
+
+        assertSameList(script, DbType.mysql);
+    }
+
+    // --- 辅助方法 ---
+
+    private static void assertSameList(String script, DbType dbType) {
+        List<TableMeta> druid = GenericDdlParserUtils.parseMultiCreateTable(script, dbType);
+        List<TableMeta> fast = new ArrayList<>();
+        GenericDdlParserUtils.parseMultiCreateTableFast(script, dbType, fast::add);
+        assertEquals(druid.size(), fast.size());
+        for (int i = 0; i < druid.size(); i++) {
+            assertSameMeta(script, druid.get(i), fast.get(i));
+        }
+    }
+
+    private static void assertSameMeta(String ddl, TableMeta expected, TableMeta actual) {
+        assertEquals(ddl, expected.getDbType(), actual.getDbType());
+        assertEquals(ddl, expected.getSchema(), actual.getSchema());
+        assertEquals(ddl, expected.getTableName(), actual.getTableName());
+        assertSameColumns(ddl, expected.getColumns(), actual.getColumns());
+        assertSameColumns(ddl, expected.getPartitionColumns(), actual.getPartitionColumns());
+    }
+
+    private static void assertSameColumns(String ddl, List<ColumnMeta> expected, List<ColumnMeta> actual) {
+        assertEquals(ddl, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            ColumnMeta e = expected.get(i);
+            ColumnMeta a = actual.get(i);
+            String where = ddl + " -> " + e.getName();
+            assertEquals(where, e.getName(), a.getName());
+            assertEquals(where, e.getType(), a.getType());
+            assertEquals(where, e.getComment(), a.getComment());
+            assertEquals(where, e.isPrimaryKey(), a.isPrimaryKey());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fluckyeli.ddlparser;
+
+import com.alibaba.druid.DbType;
+import junit.framework.TestCase;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * MetadataSearchIndex 查询测试
+ */
+public class MetadataSearchIndexTest extends TestCase {
+
+    private MetadataSearchIndex index;
+
+    @Override
+    protected void setUp() {
+        index = new MetadataSearchIndex();
+        GenericDdlParserUtils.parseMultiCreateTable(
+                "CREATE TABLE crm.t_customer (id BIGINT COMMENT '主键', customerName VARCHAR(64) COMMENT '客户名称', "
+                        + "mobile VARCHAR(20) COMMENT '手机号');\n"
+                        + "CREATE TABLE crm.t_order (order_id BIGINT COMMENT '订单号', customer_id BIGINT COMMENT '客户ID', "
+                        + "amount DECIMAL(12, 2) COMMENT '金额');",
+                DbType.mysql, index);
+    }
+
+    /**
+     * 单个汉字在词中任意位置都能命中
+     */
+    public void testSingleCjkCharacterMatchesAnyPosition() {
+        assertEquals("[crm.t_customer.mobile]", names(index.search("手", 10)));
+        assertEquals("[crm.t_customer.mobile]", names(index.search("机", 10)));
+        assertEquals("[crm.t_customer.mobile, crm.t_order.order_id]", names(index.search("号", 10)));
+        assertEquals("[crm.t_customer.customerName, crm.t_order.customer_id]", names(index.search("户", 10)));
+        assertEquals(MetadataSearchIndex.Field.COMMENT, index.search("机", 10).get(0).getField());
+    }
+
+    public void testTermPrefixAndPhrase() {
+        assertEquals("[crm.t_customer.mobile]", names(index.search("手机", 10)));
+        assertEquals("[crm.t_customer.mobile]", names(index.search("机号", 10)));
+        assertEquals("[crm.t_customer.mobile]", names(index.search("\"手机号\"", 10)));
+        assertEquals("[]", names(index.search("\"号手机\"", 10)));
+        assertEquals("[crm.t_customer.customerName]", names(index.search("customer 名", 10)));
+        assertEquals("[crm.t_customer, crm.t_customer.customerName, crm.t_order.customer_id]", names(index.search("cust*", 10)));
+        assertEquals("[crm.t_order, crm.t_order.order_id]", names(index.search("order", 10)));
+    }
+
+    private static String names(List<MetadataSearchIndex.Hit> hits) {
+        return hits.stream().map(MetadataSearchIndex.Hit::toString).collect(Collectors.toList()).toString();
+    }
+}
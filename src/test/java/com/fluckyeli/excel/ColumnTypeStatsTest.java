@@ -0,0 +1,90 @@
+package com.fluckyeli.excel;
+
+import junit.framework.TestCase;
+
+/**
+ * ColumnTypeStats 类型推断测试
+ */
+public class ColumnTypeStatsTest extends TestCase {
+
+    public void testNumbers() {
+        assertEquals("INT", typeOf("1", "-20", "300"));
+        assertEquals("BIGINT", typeOf("1", "12345678901"));
+        assertEquals("DECIMAL(6, 2)", typeOf("1234.5", "-0.25"));
+        assertEquals("DOUBLE", typeOf("1.5", "1.2E+10"));
+        assertEquals("VARCHAR(5)", typeOf("00123", "12")); // 前导零的编号
+    }
+
+    public void testThousandsSeparators() {
+        assertEquals("INT", typeOf("1,234", "12,345,678", "-999"));
+        assertEquals("DECIMAL(9, 2)", typeOf("1,234,567.50", "0.25"));
+        assertEquals("VARCHAR(4)", typeOf("1,23", "12"));
+        assertEquals("VARCHAR(8)", typeOf("1234,567"));
+        assertEquals("VARCHAR(6)", typeOf("1,000,", "1"));
+        assertEquals("VARCHAR(5)", typeOf("0,123"));
+    }
+
+    /**
+     * 整数部分超过 DECIMAL 最大精度时不能截断，退回 VARCHAR
+     */
+    public void testOversizedIntegers() {
+        String digits38 = repeat('9', 38);
+        String digits40 = repeat('9', 40);
+        assertEquals("DECIMAL(38, 0)", typeOf(digits38));
+        assertEquals("VARCHAR(40)", typeOf("1", digits40));
+        assertEquals("VARCHAR(42)", typeOf(digits40 + ".5"));
+        assertEquals("DECIMAL(38, 2)", typeOf(repeat('9', 36), "0.125")); // 合计超过 38 位时减少标度
+    }
+
+    public void testDates() {
+        assertEquals("DATE", typeOf("2024-01-02", "2024/12/31", "2024-01-03 00:00:00"));
+        assertEquals("DATETIME", typeOf("2024-01-02", "2024-01-02 10:00:00"));
+        assertEquals("DATETIME", typeOf("2024-01-02T10:00:00", "2024/01/02 23:59:59"));
+        assertEquals("VARCHAR(10)", typeOf("2024-13-02"));
+        assertEquals("VARCHAR(10)", typeOf("2024-01/02"));
+        assertEquals("VARCHAR(10)", typeOf("2024-01-02", "1"));
+    }
+
+    public void testNumericCellsUseStoredValue() {
+        ColumnTypeStats stats = new ColumnTypeStats();
+        stats.accept("1.23457E+11", "123456789012");
+        stats.accept("3", "3.14159");
+        assertEquals("DECIMAL(17, 5)", stats.toSqlType());
+
+        ColumnTypeStats dates = new ColumnTypeStats();
+        dates.accept("2024-01-02 10:00:00", "45293.416666666664"); // 日期单元格仍按显示文本
+        dates.accept("2024-01-03", null);
+        assertEquals("DATETIME", dates.toSqlType());
+    }
+
+    public void testEmptyAndMerge() {
+        ColumnTypeStats empty = new ColumnTypeStats();
+        empty.accept(null);
+        empty.accept("  ");
+        assertEquals("VARCHAR(255)", empty.toSqlType());
+        assertEquals(2, empty.getNullCount());
+
+        ColumnTypeStats left = stats("1", "2");
+        left.merge(stats("3.25"));
+        left.merge(empty);
+        assertEquals("DECIMAL(3, 2)", left.toSqlType());
+        assertEquals(3, left.getNonNullCount());
+        assertEquals(2, left.getNullCount());
+    }
+
+    private static String typeOf(String... values) {
+        return stats(values).toSqlType();
+    }
+
+    private static ColumnTypeStats stats(String... values) {
+        ColumnTypeStats stats = new ColumnTypeStats();
+        for (String value : values) {
+            stats.accept(value);
+        }
+        return stats;
+    }
+
+    private static String repeat(char c, int count) {
+        return String.valueOf(c).repeat(count);
+    }
+}
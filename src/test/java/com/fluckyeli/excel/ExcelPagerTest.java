@@ -0,0 +1,121 @@
+package com.fluckyeli.excel;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ExcelPager 与 ExcelUtils 各解析方式的一致性测试
+ */
+public class ExcelPagerTest extends TestCase {
+
+    public enum Status {
+        ACTIVE, CLOSED
+    }
+
+    public static class Product {
+        @ExcelColumn("编号")
+        private Integer id;
+        @ExcelColumn("名称")
+        private String name;
+        @ExcelColumn("价格")
+        private BigDecimal price;
+        @ExcelColumn("重量")
+        private Double weight;
+        @ExcelColumn("状态")
+        private Status status;
+
+        @Override
+        public String toString() {
+            return id + "|" + name + "|" + price + "|" + weight + "|" + status;
+        }
+    }
+
+    private static final String[] HEADER = {"编号", "名称", "价格", "重量", "状态"};
+
+    /**
+     * 数值单元格带千分位格式 (#,##0.00) 时，流式解析与 Workbook 解析得到相同的数值
+     */
+    public void testFormattedNumbersMatchWorkbookParse() throws Exception {
+        File file = ExcelTestFiles.create(HEADER, 30, ExcelPagerTest::product, "#,##0.00");
+
+        List<Product> expected = parseWorkbook(file, 1, null);
+        assertEquals(30, expected.size());
+        assertEquals("1001|商品1|1234.5|1.125|CLOSED", expected.get(0).toString());
+
+        List<Product> paged = new ArrayList<>();
+        ExcelPager pager = new ExcelPager(file, 4);
+        for (int start = 1; start <= 30; start += 7) {
+            paged.addAll(pager.page(Product.class, start, start + 7));
+        }
+        assertSameProducts(expected, paged);
+
+        List<Product> streamed = new ArrayList<>();
+        ExcelUtils.parse(file, Product.class, 1, null, false, streamed::add);
+        assertSameProducts(expected, streamed);
+    }
+
+    public void testPageRange() throws Exception {
+        File file = ExcelTestFiles.create(HEADER, 30, ExcelPagerTest::product);
+        ExcelPager pager = new ExcelPager(file, 4);
+
+        List<Product> page = pager.page(Product.class, 21, 26);
+        assertSameProducts(parseWorkbook(file, 21, 26), page);
+        assertEquals(Integer.valueOf(1021), page.get(0).id);
+
+        assertSameProducts(parseWorkbook(file, 1, 6), pager.page(Product.class, 1, 6)); // 向前翻页
+        assertTrue(pager.page(Product.class, 40, 50).isEmpty());
+        assertEquals(2, pager.rows(0, 2).size());
+    }
+
+    /**
+     * 行没有 r 属性时索引停用，重复读取仍从头开始，行号不会错位
+     */
+    public void testRowsWithoutRowNumbers() throws Exception {
+        File numbered = ExcelTestFiles.create(HEADER, 3000, ExcelPagerTest::product);
+        File file = ExcelTestFiles.replaceAllInPart(numbered, "xl/worksheets/sheet1.xml", "<row r=\"\\d+\"", "<row");
+        ExcelPager pager = new ExcelPager(file, 100);
+
+        for (int i = 0; i < 2; i++) {
+            List<String[]> rows = pager.rows(2500, 2502);
+            assertEquals(2, rows.size());
+            assertEquals("3500", rows.get(0)[0]);
+            assertEquals("商品2501", rows.get(1)[1]);
+        }
+    }
+
+    // --- 辅助方法 ---
+
+    private static Object product(int row, int col) {
+        switch (col) {
+            case 0:
+                return 1000 + row;
+            case 1:
+                return "商品" + row;
+            case 2:
+                return row * 1234.5;
+            case 3:
+                return row * 1.125;
+            default:
+                return row % 2 == 0 ? " active " : "closed";
+        }
+    }
+
+    private static List<Product> parseWorkbook(File file, int startRow, Integer endRow) throws Exception {
+        try (InputStream in = new FileInputStream(file)) {
+            return ExcelUtils.parse(in, Product.class, startRow, endRow);
+        }
+    }
+
+    private static void assertSameProducts(List<Product> expected, List<Product> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+}
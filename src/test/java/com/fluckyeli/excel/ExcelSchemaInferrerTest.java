@@ -0,0 +1,133 @@
+package com.fluckyeli.excel;
+
+import com.alibaba.druid.DbType;
+import com.fluckyeli.ddlparser.ColumnMeta;
+import com.fluckyeli.ddlparser.DdlTranslator;
+import com.fluckyeli.ddlparser.TableMeta;
+import junit.framework.TestCase;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ExcelSchemaInferrer 测试：推断的表结构可以直接建表并由 ExcelTableLoader 导入
+ */
+public class ExcelSchemaInferrerTest extends TestCase {
+
+    private static final String[] HEADER = {"Order ID", "金额", "下单时间", "发货日期", "备注", "Order ID"};
+
+    public void testInferTypes() throws Exception {
+        TableMeta tableMeta = new ExcelSchemaInferrer().infer(createOrders(), "stg_order");
+
+        assertEquals("other", tableMeta.getDbType());
+        List<ColumnMeta> columns = tableMeta.getColumns();
+        assertEquals(6, columns.size());
+        assertColumn(columns.get(0), "order_id", "INT", "Order ID");
+        assertColumn(columns.get(1), "col_2", "INT", "金额"); // 按原始值分类，不受 #,##0.00 格式影响
+        assertColumn(columns.get(2), "col_3", "DATETIME", "下单时间");
+        assertColumn(columns.get(3), "col_4", "DATE", "发货日期");
+        assertColumn(columns.get(4), "col_5", "VARCHAR(4)", "备注");
+        assertColumn(columns.get(5), "order_id_2", "VARCHAR(5)", "Order ID");
+    }
+
+    /**
+     * 数值单元格按原始值推断：常规格式的 12 位编号、格式为 0 的小数、百分比与货币都不受显示文本影响
+     */
+    public void testNumericCellsUseStoredValues() throws Exception {
+        File file = ExcelTestFiles.createFormatted(new String[]{"id", "pi", "ratio", "price"}, 3,
+                (row, col) -> col == 0 ? (Object) (123456789010L + row) : col == 1 ? (Object) 3.14159
+                        : col == 2 ? (Object) (row * 0.125) : (Object) (1234.5 + row),
+                new String[]{"General", "0", "0.00%", "\"¥\"#,##0.00"});
+
+        List<ColumnMeta> columns = new ExcelSchemaInferrer().infer(file, "t").getColumns();
+        assertColumn(columns.get(0), "id", "BIGINT", "id");
+        assertColumn(columns.get(1), "pi", "DECIMAL(6, 5)", "pi");
+        assertColumn(columns.get(2), "ratio", "DECIMAL(4, 3)", "ratio");
+        assertColumn(columns.get(3), "price", "DECIMAL(5, 1)", "price");
+    }
+
+    public void testParallelMatchesSerial() throws Exception {
+        File file = createOrders();
+        ExcelSchemaInferrer parallel = new ExcelSchemaInferrer();
+        parallel.setParallelism(3);
+        parallel.setChunkSize(7);
+
+        List<ColumnMeta> expected = new ExcelSchemaInferrer().infer(file, "t").getColumns();
+        List<ColumnMeta> actual = parallel.infer(file, "t").getColumns();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    public void testSampleRows() throws Exception {
+        ExcelSchemaInferrer inferrer = new ExcelSchemaInferrer();
+        inferrer.setSampleRows(5);
+        // 前 5 行的编号列都是数字，第 6 行起变为文本
+        assertEquals("INT", inferrer.infer(createOrders(), "t").getColumns().get(5).getType());
+    }
+
+    /**
+     * 推断结果建表后，同一个文件可以完整导入 (千分位数值、文本日期的识别范围与导入一致)
+     */
+    public void testInferredTableLoads() throws Exception {
+        File file = createOrders();
+        TableMeta tableMeta = new ExcelSchemaInferrer().infer(file, "stg_order");
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:inferrer;MODE=Oracle;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : DdlTranslator.toCreateTable(tableMeta, DbType.oracle).split(";")) {
+                if (!sql.trim().isEmpty()) statement.execute(sql);
+            }
+        }
+
+        assertEquals(30, new ExcelTableLoader(dataSource, tableMeta).load(file));
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT SUM(col_2), COUNT(col_4), COUNT(DISTINCT col_3) FROM stg_order")) {
+            resultSet.next();
+            assertEquals(0, new BigDecimal("18600.00").compareTo(resultSet.getBigDecimal(1)));
+            assertEquals(30, resultSet.getLong(2));
+            assertEquals(30, resultSet.getLong(3));
+        }
+    }
+
+    // --- 辅助方法 ---
+
+    private static void assertColumn(ColumnMeta column, String name, String type, String comment) {
+        assertEquals(name, column.getName());
+        assertEquals(name, type, column.getType());
+        assertEquals(name, comment, column.getComment());
+    }
+
+    /**
+     * 30 行订单：编号是文本，金额是千分位格式的整数，下单时间是日期单元格，发货日期是 yyyy/MM/dd 文本
+     */
+    private static File createOrders() throws Exception {
+        return ExcelTestFiles.create(HEADER, 30, (row, col) -> {
+            switch (col) {
+                case 0:
+                    return String.valueOf(row); // 文本单元格，不受数值格式影响
+                case 1:
+                    return row * 40;
+                case 2:
+                    return new Date(1700000000000L + row * 3_600_000L);
+                case 3:
+                    return String.format("2024/01/%02d", row);
+                case 4:
+                    return row % 3 == 0 ? null : "备注" + row;
+                default:
+                    return row <= 5 ? String.valueOf(row) : "NO-" + row;
+            }
+        }, "#,##0.00");
+    }
+}
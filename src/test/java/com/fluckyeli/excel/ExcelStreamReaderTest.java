@@ -0,0 +1,85 @@
+package com.fluckyeli.excel;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * ExcelStreamReader 的共享字符串落盘与列过滤测试
+ */
+public class ExcelStreamReaderTest extends TestCase {
+
+    /**
+     * 落盘的共享字符串表与堆内实现读出相同的文本，包括 _xHHHH_ 转义
+     */
+    public void testSpilledSharedStringsMatchInHeap() throws Exception {
+        File plain = ExcelTestFiles.create(new String[]{"编号", "备注", "说明"}, 200, (row, col) -> {
+            switch (col) {
+                case 0:
+                    return row;
+                case 1:
+                    return row % 3 == 0 ? "line1@CR@line2" : "备注" + row % 17;
+                default:
+                    return row % 5 == 0 ? null : "a@ESC@b" + row;
+            }
+        });
+        File escaped = ExcelTestFiles.replaceInPart(plain, "xl/sharedStrings.xml", "@CR@", "_x000D_");
+        escaped = ExcelTestFiles.replaceInPart(escaped, "xl/sharedStrings.xml", "@ESC@", "_x005F_x0041_");
+
+        List<String[]> inHeap = readAll(escaped, false, null);
+        List<String[]> spilled = readAll(escaped, true, null);
+        assertEquals(201, inHeap.size());
+        assertEquals("line1\rline2", inHeap.get(3)[1]);
+        assertEquals("a_x0041_b1", inHeap.get(1)[2]);
+        assertSameRows(inHeap, spilled);
+    }
+
+    public void testColumnFilter() throws Exception {
+        File file = ExcelTestFiles.create(new String[]{"a", "b", "c", "d"}, 20, (row, col) -> "v" + row + "_" + col);
+
+        for (boolean spill : new boolean[]{false, true}) {
+            List<String[]> rows = readAll(file, spill, col -> col == 1 || col == 3);
+            assertEquals(21, rows.size());
+            for (int r = 1; r < rows.size(); r++) {
+                String[] values = rows.get(r);
+                assertEquals(4, values.length);
+                assertNull(values[0]);
+                assertEquals("v" + r + "_1", values[1]);
+                assertNull(values[2]);
+                assertEquals("v" + r + "_3", values[3]);
+            }
+        }
+    }
+
+    public void testStopReading() throws Exception {
+        File file = ExcelTestFiles.create(new String[]{"a"}, 100, (row, col) -> row);
+        List<Integer> rowNums = new ArrayList<>();
+        new ExcelStreamReader().read(file, (rowNum, values) -> {
+            rowNums.add(rowNum);
+            return rowNum < 5;
+        });
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), rowNums);
+    }
+
+    // --- 辅助方法 ---
+
+    private static List<String[]> readAll(File file, boolean spill, IntPredicate columnFilter) {
+        ExcelStreamReader reader = new ExcelStreamReader();
+        reader.setSpillSharedStrings(spill);
+        reader.setColumnFilter(columnFilter);
+        List<String[]> rows = new ArrayList<>();
+        reader.read(file, (rowNum, values) -> rows.add(values));
+        return rows;
+    }
+
+    private static void assertSameRows(List<String[]> expected, List<String[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("row " + i, Arrays.asList(expected.get(i)), Arrays.asList(actual.get(i)));
+        }
+    }
+}
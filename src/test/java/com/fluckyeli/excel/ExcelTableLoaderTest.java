@@ -0,0 +1,208 @@
+package com.fluckyeli.excel;
+
+import com.alibaba.druid.DbType;
+import com.fluckyeli.ddlparser.GenericDdlParserUtils;
+import com.fluckyeli.ddlparser.TableMeta;
+import junit.framework.TestCase;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ExcelTableLoader 在内嵌 H2 数据库上的测试
+ */
+public class ExcelTableLoaderTest extends TestCase {
+
+    private static int databaseSeq = 0;
+
+    private JdbcDataSource dataSource;
+
+    @Override
+    protected void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:loader" + (databaseSeq++) + ";DB_CLOSE_DELAY=-1");
+    }
+
+    public void testSerialLoad() throws Exception {
+        assertLoadsOrders(1);
+    }
+
+    public void testParallelLoad() throws Exception {
+        assertLoadsOrders(3);
+    }
+
+    public void testHeaderMatchesColumnComment() throws Exception {
+        execute("CREATE TABLE t_product (code VARCHAR(20), price DECIMAL(10, 2))");
+        TableMeta tableMeta = GenericDdlParserUtils.parseCreateTable(
+                "CREATE TABLE t_product (code VARCHAR(20) COMMENT '编码', price DECIMAL(10, 2) COMMENT '价格')", DbType.mysql);
+        File file = ExcelTestFiles.create(new String[]{"编码", "价格", "无关列"}, 10,
+                (row, col) -> col == 0 ? "P" + row : col == 1 ? (Object) (row * 1.5) : "x");
+
+        assertEquals(10, new ExcelTableLoader(dataSource, tableMeta).load(file));
+        assertEquals(new BigDecimal("82.50"), queryDecimal("SELECT SUM(price) FROM t_product"));
+    }
+
+    public void testReservedWordIdentifiers() throws Exception {
+        execute("CREATE TABLE \"ORDER\" (ID BIGINT, \"DESC\" VARCHAR(50), \"GROUP\" VARCHAR(10))");
+        TableMeta tableMeta = GenericDdlParserUtils.parseCreateTable(
+                "CREATE TABLE `order` (`id` BIGINT, `desc` VARCHAR(50), `group` VARCHAR(10))", DbType.mysql);
+        File file = ExcelTestFiles.create(new String[]{"id", "desc", "group"}, 5,
+                (row, col) -> col == 0 ? (Object) row : col == 1 ? "描述" + row : "g");
+
+        assertEquals(5, new ExcelTableLoader(dataSource, tableMeta).load(file));
+        assertEquals(5, queryLong("SELECT COUNT(*) FROM \"ORDER\" WHERE \"DESC\" LIKE '描述%'"));
+    }
+
+    public void testTextDateFormats() throws Exception {
+        execute("CREATE TABLE t_event (id BIGINT, happened_at TIMESTAMP)");
+        TableMeta tableMeta = GenericDdlParserUtils.parseCreateTable(
+                "CREATE TABLE t_event (id BIGINT, happened_at DATETIME)", DbType.mysql);
+        String[] dates = {"2024-01-02", "2024/01/02", "2024-01-02 10:00:00", "2024/01/02 10:00:00", "2024-01-02T10:00:00"};
+        File file = ExcelTestFiles.create(new String[]{"id", "happened_at"}, dates.length,
+                (row, col) -> col == 0 ? (Object) row : dates[row - 1]);
+
+        assertEquals(dates.length, new ExcelTableLoader(dataSource, tableMeta).load(file));
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM t_event WHERE happened_at = TIMESTAMP '2024-01-02 00:00:00'"));
+        assertEquals(3, queryLong("SELECT COUNT(*) FROM t_event WHERE happened_at = TIMESTAMP '2024-01-02 10:00:00'"));
+    }
+
+    /**
+     * 数值列写入单元格的原始值，不受显示格式影响
+     */
+    public void testNumericCellsBindStoredValues() throws Exception {
+        execute("CREATE TABLE t_metric (id BIGINT, pi DECIMAL(10, 5), ratio DECIMAL(10, 5), code VARCHAR(20))");
+        TableMeta tableMeta = GenericDdlParserUtils.parseCreateTable(
+                "CREATE TABLE t_metric (id BIGINT, pi DECIMAL(10, 5), ratio DECIMAL(10, 5), code VARCHAR(20))", DbType.mysql);
+        // 常规格式的 12 位编号显示为 1.23457E+11，格式 0 把 3.14159 显示为 3，百分比显示为 12.50%
+        File file = ExcelTestFiles.createFormatted(new String[]{"id", "pi", "ratio", "code"}, 3,
+                (row, col) -> col == 0 ? (Object) (123456789010L + row) : col == 1 ? (Object) 3.14159
+                        : col == 2 ? (Object) 0.125 : "1,234",
+                new String[]{"General", "0", "0.00%", null});
+
+        assertEquals(3, new ExcelTableLoader(dataSource, tableMeta).load(file));
+        assertEquals(3 * 123456789010L + 6, queryLong("SELECT SUM(id) FROM t_metric"));
+        assertEquals(new BigDecimal("9.42477"), queryDecimal("SELECT SUM(pi) FROM t_metric"));
+        assertEquals(new BigDecimal("0.37500"), queryDecimal("SELECT SUM(ratio) FROM t_metric"));
+        assertEquals(3, queryLong("SELECT COUNT(*) FROM t_metric WHERE code = '1,234'"));
+    }
+
+    public void testParseTimestamp() {
+        assertEquals(Timestamp.valueOf("2024-01-02 00:00:00"), ExcelTableLoader.parseTimestamp(" 2024/01/02 "));
+        assertEquals(Timestamp.valueOf("2024-01-02 10:20:30"), ExcelTableLoader.parseTimestamp("2024-01-02T10:20:30"));
+    }
+
+    public void testWriterFailurePropagates() throws Exception {
+        execute("CREATE TABLE t_order (id BIGINT PRIMARY KEY, amount DECIMAL(12, 2))");
+        File file = ExcelTestFiles.create(new String[]{"id", "amount"}, 100,
+                (row, col) -> col == 0 ? (Object) (row % 50) : (Object) 1); // 主键重复
+
+        ExcelTableLoader loader = new ExcelTableLoader(dataSource, ordersMeta());
+        loader.setBatchSize(10);
+        loader.setWriterThreads(2);
+        try {
+            loader.load(file);
+            fail("主键冲突应当导致导入失败");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("t_order"));
+        }
+    }
+
+    /**
+     * 读取中途出错 (sheet XML 损坏) 时，并行模式也必须立即失败而不是挂起
+     */
+    public void testReadErrorDoesNotHangParallelLoad() throws Exception {
+        execute("CREATE TABLE t_order (id BIGINT PRIMARY KEY, amount DECIMAL(12, 2))");
+        File valid = ExcelTestFiles.create(new String[]{"id", "amount"}, 100, (row, col) -> row);
+        File broken = ExcelTestFiles.replaceInPart(valid, "xl/worksheets/sheet1.xml", "<row r=\"30\"", "<row r=\"30\" <");
+
+        for (int threads : new int[]{1, 2}) {
+            ExcelTableLoader loader = new ExcelTableLoader(dataSource, ordersMeta());
+            loader.setBatchSize(5);
+            loader.setWriterThreads(threads);
+
+            AtomicReference<Throwable> thrown = new AtomicReference<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    loader.load(broken);
+                } catch (Throwable t) {
+                    thrown.set(t);
+                }
+            });
+            thread.start();
+            thread.join(10_000);
+            assertFalse("writerThreads=" + threads + " 时导入挂起", thread.isAlive());
+            assertNotNull("writerThreads=" + threads + " 时应抛出异常", thrown.get());
+        }
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM t_order")); // 未达到提交间隔，全部回滚
+    }
+
+    // --- 辅助方法 ---
+
+    private void assertLoadsOrders(int threads) throws Exception {
+        execute("CREATE TABLE t_order (id BIGINT PRIMARY KEY, amount DECIMAL(12, 2), created_at TIMESTAMP, remark VARCHAR(50))");
+        File file = ExcelTestFiles.create(new String[]{"id", "amount", "created_at", "remark", "ignored"}, 1003, (row, col) -> {
+            switch (col) {
+                case 0:
+                    return row;
+                case 1:
+                    return row / 4.0;
+                case 2:
+                    return new java.util.Date(1700000000000L + row * 60_000L);
+                case 3:
+                    return row % 10 == 0 ? null : "备注" + row;
+                default:
+                    return "x";
+            }
+        });
+
+        ExcelTableLoader loader = new ExcelTableLoader(dataSource, ordersMeta());
+        loader.setBatchSize(50);
+        loader.setCommitInterval(200);
+        loader.setWriterThreads(threads);
+
+        assertEquals(1003, loader.load(file));
+        assertEquals(1003, queryLong("SELECT COUNT(*) FROM t_order"));
+        assertEquals(1003L * 1004 / 2, queryLong("SELECT SUM(id) FROM t_order"));
+        assertEquals(new BigDecimal("125876.50"), queryDecimal("SELECT SUM(amount) FROM t_order"));
+        assertEquals(100, queryLong("SELECT COUNT(*) FROM t_order WHERE remark IS NULL"));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM t_order WHERE created_at IS NULL"));
+    }
+
+    private static TableMeta ordersMeta() {
+        return GenericDdlParserUtils.parseCreateTable(
+                "CREATE TABLE t_order (id BIGINT PRIMARY KEY, amount DECIMAL(12, 2), created_at DATETIME, remark VARCHAR(50))",
+                DbType.mysql);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private BigDecimal queryDecimal(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getBigDecimal(1);
+        }
+    }
+}
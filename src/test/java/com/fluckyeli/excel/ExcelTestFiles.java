@@ -0,0 +1,132 @@
+package com.fluckyeli.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.function.UnaryOperator;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 测试用 xlsx 文件生成工具
+ */
+class ExcelTestFiles {
+
+    /**
+     * 按行生成单元格内容：返回 String、Number、Date 或 null
+     */
+    interface CellSource {
+        Object value(int rowNum, int column);
+    }
+
+    /**
+     * 生成一个 Sheet 的 xlsx 临时文件 (测试结束时自动删除)
+     *
+     * @param header 表头 (第 0 行)
+     * @param rows   数据行数
+     */
+    static File create(String[] header, int rows, CellSource source) throws IOException {
+        return create(header, rows, source, null);
+    }
+
+    /**
+     * @param numberFormat 数值单元格的显示格式 (如 #,##0.00)，null 表示常规格式
+     */
+    static File create(String[] header, int rows, CellSource source, String numberFormat) throws IOException {
+        String[] columnFormats = new String[header.length];
+        Arrays.fill(columnFormats, numberFormat);
+        return createFormatted(header, rows, source, columnFormats);
+    }
+
+    /**
+     * @param columnFormats 每列数值单元格的显示格式 (如 General、0、0.00%)，null 表示不设置样式
+     */
+    static File createFormatted(String[] header, int rows, CellSource source, String[] columnFormats) throws IOException {
+        File file = File.createTempFile("excel-test-", ".xlsx");
+        file.deleteOnExit();
+        // 字符串写入共享字符串表 (与 Excel 保存的文件一致)，而不是 SXSSF 默认的内联字符串
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(null, 100, false, true);
+             OutputStream out = new FileOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+            CellStyle[] numberStyles = new CellStyle[header.length];
+            for (int c = 0; c < header.length; c++) {
+                if (columnFormats[c] == null) continue;
+                numberStyles[c] = workbook.createCellStyle();
+                numberStyles[c].setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(columnFormats[c]));
+            }
+
+            Sheet sheet = workbook.createSheet("data");
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < header.length; i++) {
+                headerRow.createCell(i).setCellValue(header[i]);
+            }
+            for (int r = 1; r <= rows; r++) {
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < header.length; c++) {
+                    Object value = source.value(r, c);
+                    if (value == null) continue;
+                    Cell cell = row.createCell(c);
+                    if (value instanceof Number) {
+                        cell.setCellValue(((Number) value).doubleValue());
+                        if (numberStyles[c] != null) cell.setCellStyle(numberStyles[c]);
+                    } else if (value instanceof Date) {
+                        cell.setCellValue((Date) value);
+                        cell.setCellStyle(dateStyle);
+                    } else {
+                        cell.setCellValue(value.toString());
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    /**
+     * 替换 xlsx 中某个部件 (如 xl/worksheets/sheet1.xml) 里的文本，用于构造特殊或损坏的文件
+     */
+    static File replaceInPart(File source, String partName, String target, String replacement) throws IOException {
+        return rewritePart(source, partName, xml -> {
+            if (!xml.contains(target)) throw new IllegalArgumentException(partName + " 中没有 " + target);
+            return xml.replace(target, replacement);
+        });
+    }
+
+    /**
+     * 按正则替换 zip 中某个部件的全部匹配
+     */
+    static File replaceAllInPart(File source, String partName, String regex, String replacement) throws IOException {
+        return rewritePart(source, partName, xml -> xml.replaceAll(regex, replacement));
+    }
+
+    private static File rewritePart(File source, String partName, UnaryOperator<String> rewriter) throws IOException {
+        File file = File.createTempFile("excel-test-", ".xlsx");
+        file.deleteOnExit();
+        try (ZipFile in = new ZipFile(source);
+             ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            for (ZipEntry entry : Collections.list(in.entries())) {
+                byte[] data;
+                try (InputStream entryData = in.getInputStream(entry)) {
+                    data = entryData.readAllBytes();
+                }
+                if (entry.getName().equals(partName)) {
+                    data = rewriter.apply(new String(data, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(data);
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+}
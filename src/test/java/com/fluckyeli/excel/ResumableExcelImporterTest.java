@@ -0,0 +1,163 @@
+package com.fluckyeli.excel;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ResumableExcelImporter 断点续传测试
+ */
+public class ResumableExcelImporterTest extends TestCase {
+
+    public static class Order {
+        @ExcelColumn("id")
+        private Integer id;
+        @ExcelColumn("amount")
+        private BigDecimal amount;
+        @ExcelColumn("remark")
+        private String remark;
+    }
+
+    private static final String[] HEADER = {"id", "amount", "remark"};
+
+    private File checkpointFile;
+
+    @Override
+    protected void setUp() throws IOException {
+        checkpointFile = File.createTempFile("excel-test-", ".ckpt");
+        checkpointFile.delete();
+        checkpointFile.deleteOnExit();
+    }
+
+    @Override
+    protected void tearDown() {
+        checkpointFile.delete();
+    }
+
+    /**
+     * 中途失败后重新执行：已提交的行不重复，批次序号连续
+     */
+    public void testResumeAfterFailure() throws Exception {
+        File file = ExcelTestFiles.create(HEADER, 1000, ResumableExcelImporterTest::order, "#,##0.00");
+        List<Integer> ids = new ArrayList<>();
+        List<Long> batchSeqs = new ArrayList<>();
+
+        try {
+            newImporter().load(file, (batch, batchSeq) -> {
+                if (batchSeq == 7) throw new IllegalStateException("模拟进程退出");
+                record(batch, batchSeq, ids, batchSeqs);
+            });
+            fail("第 7 批应当失败");
+        } catch (RuntimeException e) {
+            assertTrue(messages(e).contains("已提交到第 300 行"));
+        }
+        ExcelCheckpoint checkpoint = ExcelCheckpoint.load(checkpointFile);
+        assertEquals(300, checkpoint.lastRow);
+        assertEquals(6, checkpoint.batchSeq);
+        assertTrue("检查点应记录可跳转的行", checkpoint.seekRow > 0 && checkpoint.seekRow <= 301);
+        assertFalse(checkpoint.finished);
+
+        assertEquals(700, newImporter().load(file, (batch, batchSeq) -> record(batch, batchSeq, ids, batchSeqs)));
+
+        assertEquals(1000, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(Integer.valueOf(i + 1), ids.get(i));
+        }
+        assertEquals(20, batchSeqs.size());
+        for (int i = 0; i < batchSeqs.size(); i++) {
+            assertEquals(Long.valueOf(i + 1), batchSeqs.get(i));
+        }
+    }
+
+    /**
+     * 行没有 r 属性时不记录跳转位置，续传从头读取并跳过已提交的行
+     */
+    public void testResumeWithoutRowNumbers() throws Exception {
+        File numbered = ExcelTestFiles.create(HEADER, 400, ResumableExcelImporterTest::order);
+        File file = ExcelTestFiles.replaceAllInPart(numbered, "xl/worksheets/sheet1.xml", "<row r=\"\\d+\"", "<row");
+        List<Integer> ids = new ArrayList<>();
+        List<Long> batchSeqs = new ArrayList<>();
+
+        try {
+            newImporter().load(file, (batch, batchSeq) -> {
+                if (batchSeq == 5) throw new IllegalStateException("模拟进程退出");
+                record(batch, batchSeq, ids, batchSeqs);
+            });
+            fail("第 5 批应当失败");
+        } catch (RuntimeException e) {
+            assertTrue(messages(e).contains("已提交到第 200 行"));
+        }
+        assertEquals(200, newImporter().load(file, (batch, batchSeq) -> record(batch, batchSeq, ids, batchSeqs)));
+
+        assertEquals(400, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(Integer.valueOf(i + 1), ids.get(i));
+        }
+    }
+
+    public void testFinishedCheckpointIsNoOp() throws Exception {
+        File file = ExcelTestFiles.create(HEADER, 120, ResumableExcelImporterTest::order);
+        List<Integer> ids = new ArrayList<>();
+        List<Long> batchSeqs = new ArrayList<>();
+
+        assertEquals(120, newImporter().load(file, (batch, batchSeq) -> record(batch, batchSeq, ids, batchSeqs)));
+        assertTrue(ExcelCheckpoint.load(checkpointFile).finished);
+        assertEquals(3, batchSeqs.size()); // 50 + 50 + 20
+
+        assertEquals(0, newImporter().load(file, (batch, batchSeq) -> fail("已完成的导入不应再回调")));
+    }
+
+    public void testFingerprintMismatch() throws Exception {
+        File first = ExcelTestFiles.create(HEADER, 60, ResumableExcelImporterTest::order);
+        File second = ExcelTestFiles.create(HEADER, 61, ResumableExcelImporterTest::order);
+        newImporter().load(first, (batch, batchSeq) -> {
+        });
+
+        try {
+            newImporter().load(second, (batch, batchSeq) -> fail("检查点不匹配时不应回调"));
+            fail("检查点属于其它文件时应当失败");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("不匹配"));
+        }
+    }
+
+    // --- 辅助方法 ---
+
+    private ResumableExcelImporter<Order> newImporter() {
+        ResumableExcelImporter<Order> importer = new ResumableExcelImporter<>(Order.class, checkpointFile);
+        importer.setBatchSize(50);
+        importer.setIndexStride(16);
+        return importer;
+    }
+
+    private static Object order(int row, int col) {
+        switch (col) {
+            case 0:
+                return row;
+            case 1:
+                return row * 10.5;
+            default:
+                return "备注" + row % 7;
+        }
+    }
+
+    private static String messages(Throwable e) {
+        StringBuilder sb = new StringBuilder();
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            sb.append(t.getMessage()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static void record(List<Order> batch, long batchSeq, List<Integer> ids, List<Long> batchSeqs) {
+        for (Order order : batch) {
+            assertEquals(BigDecimal.valueOf(order.id * 10.5).stripTrailingZeros(), order.amount.stripTrailingZeros());
+            ids.add(order.id);
+        }
+        batchSeqs.add(batchSeq);
+    }
+}
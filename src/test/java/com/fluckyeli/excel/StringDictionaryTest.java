@@ -0,0 +1,127 @@
+package com.fluckyeli.excel;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StringDictionary 去重与自动停用测试
+ */
+public class StringDictionaryTest extends TestCase {
+
+    public static class Order {
+        @ExcelColumn(value = "状态", dictionary = ExcelColumn.Dictionary.ALWAYS)
+        private String status;
+        @ExcelColumn(value = "数量", dictionary = ExcelColumn.Dictionary.ALWAYS)
+        private Integer quantity;
+        @ExcelColumn("备注")
+        private String remark;
+    }
+
+    private static final String[] HEADER = {"状态", "数量", "备注"};
+
+    public void testRepeatedValuesShareInstance() {
+        StringDictionary dictionary = StringDictionary.of(ExcelColumn.Dictionary.ALWAYS);
+        String first = dictionary.canonicalize(copy("ACTIVE"));
+        assertSame(first, dictionary.canonicalize(copy("ACTIVE")));
+        assertNotSame(first, dictionary.canonicalize(copy("CLOSED")));
+        assertNull(dictionary.canonicalize(null));
+        assertNull(StringDictionary.of(ExcelColumn.Dictionary.NONE));
+    }
+
+    /**
+     * ALWAYS：不同取值超过 4096 个后停用，之后原样返回
+     */
+    public void testAlwaysDisablesAfterMaxSize() {
+        StringDictionary dictionary = StringDictionary.of(ExcelColumn.Dictionary.ALWAYS);
+        for (int i = 0; i < StringDictionary.DEFAULT_MAX_SIZE; i++) {
+            dictionary.canonicalize("v" + i);
+        }
+        String canonical = dictionary.canonicalize(copy("v0"));
+        assertSame(canonical, dictionary.canonicalize(copy("v0"))); // 4096 个取值仍在上限内
+
+        dictionary.canonicalize("v" + StringDictionary.DEFAULT_MAX_SIZE);
+        String value = copy("v0");
+        assertSame(value, dictionary.canonicalize(value));
+    }
+
+    /**
+     * AUTO：采样 1024 个值，不同取值超过 1/4 时停用
+     */
+    public void testAutoDisablesAfterProbe() {
+        StringDictionary dictionary = StringDictionary.of(ExcelColumn.Dictionary.AUTO);
+        int distinct = StringDictionary.PROBE_SIZE / 4 + 1;
+        for (int i = 0; i < StringDictionary.PROBE_SIZE; i++) {
+            dictionary.canonicalize("v" + i % distinct);
+        }
+        String value = copy("v0");
+        assertSame(value, dictionary.canonicalize(value));
+    }
+
+    public void testAutoKeepsLowCardinality() {
+        StringDictionary dictionary = StringDictionary.of(ExcelColumn.Dictionary.AUTO);
+        int distinct = StringDictionary.PROBE_SIZE / 4;
+        for (int i = 0; i < StringDictionary.PROBE_SIZE; i++) {
+            dictionary.canonicalize(copy("v" + i % distinct));
+        }
+        assertSame(dictionary.canonicalize(copy("v0")), dictionary.canonicalize(copy("v0")));
+    }
+
+    /**
+     * 各解析方式都按字典去重；非 String 字段忽略 dictionary 配置
+     */
+    public void testParseSharesInstances() throws Exception {
+        File file = ExcelTestFiles.create(HEADER, 20, (row, col) -> {
+            switch (col) {
+                case 0:
+                    return row % 2 == 0 ? "ACTIVE" : "CLOSED";
+                case 1:
+                    return row;
+                default:
+                    return "备注";
+            }
+        });
+
+        List<Order> workbookOrders;
+        try (InputStream in = new FileInputStream(file)) {
+            workbookOrders = ExcelUtils.parse(in, Order.class, 1, null);
+        }
+        assertSharedStatus(workbookOrders);
+
+        List<Order> streamedOrders = new ArrayList<>();
+        ExcelUtils.parse(file, Order.class, 1, null, false, streamedOrders::add);
+        assertSharedStatus(streamedOrders);
+
+        BeanRowMapper<Order> mapper = new BeanRowMapper<>(Order.class, HEADER);
+        List<Order> mapped = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            mapped.add(mapper.map(new String[]{copy(i % 2 == 0 ? "CLOSED" : "ACTIVE"), String.valueOf(i + 1), copy("备注")},
+                    new String[]{null, String.valueOf(i + 1), null}));
+        }
+        assertSharedStatus(mapped);
+        assertNotSame(mapped.get(0).remark, mapped.get(2).remark); // 未开启字典的列不去重
+    }
+
+    // --- 辅助方法 ---
+
+    private static void assertSharedStatus(List<Order> orders) {
+        assertTrue(orders.size() >= 4);
+        for (int i = 2; i < orders.size(); i++) {
+            assertSame(orders.get(i - 2).status, orders.get(i).status);
+            assertEquals(Integer.valueOf(i + 1), orders.get(i).quantity);
+        }
+        assertEquals("CLOSED", orders.get(0).status);
+        assertEquals("ACTIVE", orders.get(1).status);
+    }
+
+    /**
+     * 内容相同但实例不同的字符串，模拟逐个单元格解析出的文本
+     */
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+}